@@ -0,0 +1,65 @@
+package com.jwtauth.config;
+
+import com.jwtauth.ratelimit.RateLimitBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 로그인 Rate Limiter 확인/기록 비용 - 여러 스레드가 같은 IP(경합)와 서로 다른 IP를 사용하는 경우
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class RateLimitingBenchmark {
+
+    private static final String SHARED_IP = "203.0.113.10";
+
+    private RateLimitingService rateLimitingService;
+
+    @State(Scope.Thread)
+    public static class ThreadIp {
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        String ip;
+        String username;
+
+        @Setup
+        public void setUp() {
+            int sequence = SEQUENCE.incrementAndGet();
+            ip = "198.51." + sequence + ".10";
+            username = "benchmark-user-" + sequence;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        // 전체 예산에 걸리지 않도록 충분히 크게 설정 (기준별 확인 비용만 측정)
+        rateLimitProperties.getLogin().getGlobal().setLimit(Integer.MAX_VALUE / 2);
+        rateLimitingService = new RateLimitingService(rateLimitProperties, new SimpleMeterRegistry(),
+                new StaticListableBeanFactory().getBeanProvider(RateLimitBackend.class));
+    }
+
+    @Benchmark
+    public boolean isAllowedSharedIp() {
+        return rateLimitingService.isAllowed(SHARED_IP);
+    }
+
+    // IP, 대역, 계정, 전체 4개 기준을 모두 거치는 로그인 예약 비용 (성공 처리로 카운트 초기화)
+    @Benchmark
+    public boolean tryAcquireLoginSharedIp() {
+        boolean allowed = rateLimitingService.tryAcquireLogin(SHARED_IP, "benchmark-user") == null;
+        rateLimitingService.recordSuccessfulAttempt(SHARED_IP, "benchmark-user");
+        return allowed;
+    }
+
+    @Benchmark
+    public boolean tryAcquireLoginDistinctIp(ThreadIp threadIp) {
+        boolean allowed = rateLimitingService.tryAcquireLogin(threadIp.ip, threadIp.username) == null;
+        rateLimitingService.recordSuccessfulAttempt(threadIp.ip, threadIp.username);
+        return allowed;
+    }
+}
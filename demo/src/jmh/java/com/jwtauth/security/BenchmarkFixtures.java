@@ -0,0 +1,39 @@
+package com.jwtauth.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+// 벤치마크 공용 객체 생성 (Spring 컨텍스트 없이 application.yml 개발 설정과 동일한 값 사용)
+public final class BenchmarkFixtures {
+
+    public static final String SECRET = "VGhpc0lzQVZlcnlTZWN1cmVTZWNyZXRLZXlGb3JKV1RUb2tlbkdlbmVyYXRpb25XaXRoSGlnaFNlY3VyaXR5";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static JwtProperties jwtProperties() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setExpirationTime(900000);
+        jwtProperties.setRefreshTokenExpirationTime(604800000);
+        jwtProperties.getCache().setEnabled(false);
+        return jwtProperties;
+    }
+
+    public static JwtTokenUtil jwtTokenUtil(JwtProperties jwtProperties) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtProperties, new SimpleMeterRegistry());
+        return new JwtTokenUtil(jwtProperties, cache, new JwtKeyRing(jwtProperties, null), // HMAC 모드라 키 저장소를 쓰지 않음
+                new SecurityEpochService(jwtProperties, cache));
+    }
+
+    public static SecretKey secretKey(JwtProperties jwtProperties) {
+        return new SecretKeySpec(
+                jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8),
+                SignatureAlgorithm.HS512.getJcaName()
+        );
+    }
+}
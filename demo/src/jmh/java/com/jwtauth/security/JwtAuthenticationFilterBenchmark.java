@@ -0,0 +1,60 @@
+package com.jwtauth.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// Bearer 헤더 추출부터 SecurityContext 설정까지 필터 한 번 실행 비용 (statelessPrincipal, DB 조회 없음)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = BenchmarkFixtures.jwtProperties();
+        jwtProperties.setStatelessPrincipal(true);
+        jwtProperties.getCache().setEnabled(cacheEnabled);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtProperties, meterRegistry);
+        SecurityEpochService securityEpochService = new SecurityEpochService(jwtProperties, cache);
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(jwtProperties, cache, new JwtKeyRing(jwtProperties, null), // HMAC 모드라 키 저장소를 쓰지 않음
+                securityEpochService);
+
+        filter = new JwtAuthenticationFilter(
+                jwtTokenUtil,
+                null,
+                securityEpochService,
+                new AccessTokenDenylist(jwtProperties, meterRegistry),
+                new PhantomTokenStore(jwtTokenUtil, jwtProperties, meterRegistry),
+                jwtProperties
+        );
+        authorizationHeader = "Bearer " + jwtTokenUtil.generateAccessToken("benchmark-user", "ROLE_USER");
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/profile");
+        request.addHeader("Authorization", authorizationHeader);
+        request.setRemoteAddr("10.0.0.1");
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.jwtauth.security;
+
+import com.jwtauth.config.RateLimitProperties;
+import com.jwtauth.config.RateLimitingService;
+import com.jwtauth.ratelimit.RateLimitBackend;
+import com.jwtauth.ratelimit.RateLimitPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 한도를 넘은 요청이 429로 거부되기까지의 비용과 허용 경로 비용 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestThrottleFilterBenchmark {
+
+    private RequestThrottleFilter filter;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.getThrottle().setRoutes(List.of(
+                new RateLimitProperties.Route("/api/auth/**", RateLimitPolicy.Type.TOKEN_BUCKET, 1, 3600000),
+                new RateLimitProperties.Route("/api/**", RateLimitPolicy.Type.TOKEN_BUCKET, Integer.MAX_VALUE / 2, 60000)
+        ));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimitingService rateLimitingService = new RateLimitingService(rateLimitProperties, meterRegistry,
+                new StaticListableBeanFactory().getBeanProvider(RateLimitBackend.class));
+        filter = new RequestThrottleFilter(rateLimitProperties, rateLimitingService, meterRegistry);
+    }
+
+    @Benchmark
+    public int rejected() throws Exception {
+        return doFilter("/api/auth/login");
+    }
+
+    @Benchmark
+    public int allowed() throws Exception {
+        return doFilter("/api/user/profile");
+    }
+
+    private int doFilter(String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new DiscardingResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    // MockHttpServletResponse의 출력 스트림은 바이트 단위로 기록하므로 본문은 버려 컨테이너의 일괄 쓰기에 가깝게 측정
+    private static final class DiscardingResponse extends MockHttpServletResponse {
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
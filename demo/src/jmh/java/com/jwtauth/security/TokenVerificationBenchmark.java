@@ -0,0 +1,63 @@
+package com.jwtauth.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// 토큰 검증 경로 비교: jjwt parseToken vs 전용 fast path, 만료/위조 토큰 거부 비용 (캐시 비활성화)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenVerificationBenchmark {
+
+    private JwtTokenUtil jwtTokenUtil;
+    private FastPathTokenVerifier fastPathVerifier;
+    private String accessToken;
+    private String expiredToken;
+    private String forgedToken;
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = BenchmarkFixtures.jwtProperties();
+        jwtTokenUtil = BenchmarkFixtures.jwtTokenUtil(jwtProperties);
+        fastPathVerifier = new FastPathTokenVerifier(BenchmarkFixtures.secretKey(jwtProperties));
+        accessToken = jwtTokenUtil.generateAccessToken("benchmark-user", "ROLE_USER");
+
+        FastPathTokenMinter minter = new FastPathTokenMinter(BenchmarkFixtures.secretKey(jwtProperties), "jwt-auth-service");
+        long now = System.currentTimeMillis();
+        expiredToken = minter.mint("benchmark-user", "ROLE_USER", JwtTokenUtil.TokenType.ACCESS, now - 7200000, 3600000);
+
+        // 서명 첫 글자만 바꾼 토큰
+        int signatureStart = accessToken.lastIndexOf('.') + 1;
+        char replaced = accessToken.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        forgedToken = accessToken.substring(0, signatureStart) + replaced + accessToken.substring(signatureStart + 1);
+    }
+
+    @Benchmark
+    public Claims jjwtParseToken() {
+        return jwtTokenUtil.parseToken(accessToken);
+    }
+
+    @Benchmark
+    public VerifiedToken fastPathVerify() {
+        return fastPathVerifier.verify(accessToken, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyUncached() {
+        return jwtTokenUtil.verify(accessToken);
+    }
+
+    // 만료 토큰은 fast path가 위임하므로 jjwt ExpiredJwtException 경로 비용 포함
+    @Benchmark
+    public Optional<VerifiedToken> verifyExpired() {
+        return jwtTokenUtil.verify(expiredToken);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyForged() {
+        return jwtTokenUtil.verify(forgedToken);
+    }
+}
@@ -0,0 +1,22 @@
+package com.jwtauth.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 비밀번호 정책 검사 비용 - 통과하는 비밀번호와 여러 규칙을 위반하는 비밀번호
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PasswordValidationBenchmark {
+
+    private final PasswordValidationService passwordValidationService = new PasswordValidationService();
+
+    @Param({"Str0ng!Passphrase#2024", "password123", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"})
+    public String password;
+
+    @Benchmark
+    public PasswordValidationService.ValidationResult validatePassword() {
+        return passwordValidationService.validatePassword(password);
+    }
+}
@@ -0,0 +1,65 @@
+package com.jwtauth.analytics;
+
+import java.util.Arrays;
+
+/*
+ * Count-Min 스케치 - 고정 메모리(depth × width)로 임의 키의 빈도 상한을 추정한다.
+ * 추정값은 실제 값 이상이며, 전체 합 N에 대해 확률 1 - (1/2)^depth로 N × 2 / width 이내의 과대 추정이다.
+ * 스레드 안전하지 않으므로 호출 측에서 동기화한다.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int[] counts;
+    private long total;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Count-Min 스케치의 depth와 width는 1 이상이어야 합니다.");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counts = new int[depth * width];
+    }
+
+    public void add(String key) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + Math.floorMod(h1 + row * h2, width);
+            if (counts[index] != Integer.MAX_VALUE) {
+                counts[index]++;
+            }
+        }
+        total++;
+    }
+
+    public long estimate(String key) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[row * width + Math.floorMod(h1 + row * h2, width)]);
+        }
+        return min;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+
+    public CountMinSketch copy() {
+        CountMinSketch copy = new CountMinSketch(depth, width);
+        System.arraycopy(counts, 0, copy.counts, 0, counts.length);
+        copy.total = total;
+        return copy;
+    }
+}
@@ -0,0 +1,24 @@
+package com.jwtauth.analytics;
+
+// 스케치 공용 64비트 문자열 해시 (String.hashCode 충돌이 모든 행에 전파되지 않도록 문자 단위로 다시 섞음)
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    static long hash64(String value) {
+        long h = 0x9E3779B97F4A7C15L ^ value.length();
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 29;
+        }
+        return mix(h);
+    }
+
+    // splitmix64 최종 혼합
+    static long mix(long h) {
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
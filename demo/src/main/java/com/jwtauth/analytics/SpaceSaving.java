@@ -0,0 +1,214 @@
+package com.jwtauth.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/*
+ * Space-Saving top-K 요약 (Stream-Summary 구조).
+ * 최대 capacity개 키만 추적하고, 가득 찬 상태에서 새 키가 오면 가장 작은 카운터를 넘겨받아 그 값을 오차로 기록한다.
+ * 카운터를 같은 값끼리 묶은 버킷의 정렬된 연결 리스트로 관리하므로 증가는 O(1)이다.
+ * 실제 빈도가 N / capacity를 넘는 키는 반드시 추적되며, 보고되는 count는 실제 값 이상, count - error는 실제 값 이하이다.
+ * 각 항목에는 부가 상태(attachment)를 붙일 수 있고, 항목이 다른 키로 교체되면 reset으로 재사용한다.
+ * 스레드 안전하지 않으므로 호출 측에서 동기화한다.
+ */
+public final class SpaceSaving<A> {
+
+    private final int capacity;
+    private final Supplier<A> attachmentFactory;
+    private final Consumer<A> attachmentReset;
+    private final Map<String, Entry<A>> index;
+    private Bucket<A> min;
+    private Bucket<A> max;
+
+    public SpaceSaving(int capacity, Supplier<A> attachmentFactory, Consumer<A> attachmentReset) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Space-Saving 용량은 1 이상이어야 합니다.");
+        }
+        this.capacity = capacity;
+        this.attachmentFactory = attachmentFactory;
+        this.attachmentReset = attachmentReset;
+        this.index = new HashMap<>(capacity * 4 / 3 + 1);
+    }
+
+    public static SpaceSaving<Void> withoutAttachment(int capacity) {
+        return new SpaceSaving<>(capacity, () -> null, attachment -> {
+        });
+    }
+
+    // key의 카운터를 1 증가시키고 해당 항목 반환
+    public Entry<A> offer(String key) {
+        Entry<A> entry = index.get(key);
+        if (entry != null) {
+            increment(entry);
+            return entry;
+        }
+
+        if (index.size() < capacity) {
+            entry = new Entry<>(key, attachmentFactory.get());
+            index.put(key, entry);
+            Bucket<A> first = min;
+            if (first == null || first.count != 1) {
+                first = insertBucketAfter(null, 1);
+            }
+            first.add(entry);
+            return entry;
+        }
+
+        // 가장 작은 카운터를 교체 - 이전 값이 새 키의 오차 상한
+        Entry<A> victim = min.head;
+        index.remove(victim.key);
+        victim.key = key;
+        victim.error = min.count;
+        attachmentReset.accept(victim.attachment);
+        index.put(key, victim);
+        increment(victim);
+        return victim;
+    }
+
+    public Entry<A> get(String key) {
+        return index.get(key);
+    }
+
+    // 추적하지 않는 키의 실제 빈도 상한 (가득 차지 않았으면 0)
+    public long floor() {
+        return index.size() < capacity || min == null ? 0 : min.count;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // 카운트 내림차순 상위 limit개
+    public List<Entry<A>> top(int limit) {
+        List<Entry<A>> result = new ArrayList<>(Math.min(limit, index.size()));
+        for (Bucket<A> bucket = max; bucket != null && result.size() < limit; bucket = bucket.prev) {
+            for (Entry<A> entry = bucket.head; entry != null && result.size() < limit; entry = entry.next) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        index.clear();
+        min = null;
+        max = null;
+    }
+
+    private void increment(Entry<A> entry) {
+        Bucket<A> bucket = entry.bucket;
+        long newCount = bucket.count + 1;
+        Bucket<A> target = bucket.next;
+        if (target == null || target.count != newCount) {
+            target = insertBucketAfter(bucket, newCount);
+        }
+        bucket.remove(entry);
+        if (bucket.head == null) {
+            unlink(bucket);
+        }
+        target.add(entry);
+    }
+
+    // previous 다음에 새 버킷 삽입 (previous가 null이면 맨 앞)
+    private Bucket<A> insertBucketAfter(Bucket<A> previous, long count) {
+        Bucket<A> bucket = new Bucket<>(count);
+        Bucket<A> next = previous == null ? min : previous.next;
+        bucket.prev = previous;
+        bucket.next = next;
+        if (previous == null) {
+            min = bucket;
+        } else {
+            previous.next = bucket;
+        }
+        if (next == null) {
+            max = bucket;
+        } else {
+            next.prev = bucket;
+        }
+        return bucket;
+    }
+
+    private void unlink(Bucket<A> bucket) {
+        if (bucket.prev == null) {
+            min = bucket.next;
+        } else {
+            bucket.prev.next = bucket.next;
+        }
+        if (bucket.next == null) {
+            max = bucket.prev;
+        } else {
+            bucket.next.prev = bucket.prev;
+        }
+    }
+
+    public static final class Entry<A> {
+        private String key;
+        private long error;
+        private final A attachment;
+        private Bucket<A> bucket;
+        private Entry<A> prev;
+        private Entry<A> next;
+
+        private Entry(String key, A attachment) {
+            this.key = key;
+            this.attachment = attachment;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        // 실제 빈도 상한
+        public long getCount() {
+            return bucket.count;
+        }
+
+        // count - error는 실제 빈도 하한
+        public long getError() {
+            return error;
+        }
+
+        public A getAttachment() {
+            return attachment;
+        }
+    }
+
+    // 같은 카운트 값을 가진 항목들의 이중 연결 리스트
+    private static final class Bucket<A> {
+        private final long count;
+        private Bucket<A> prev;
+        private Bucket<A> next;
+        private Entry<A> head;
+
+        private Bucket(long count) {
+            this.count = count;
+        }
+
+        private void add(Entry<A> entry) {
+            entry.bucket = this;
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            head = entry;
+        }
+
+        private void remove(Entry<A> entry) {
+            if (entry.prev == null) {
+                head = entry.next;
+            } else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.jwtauth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "spring.export")
+public class ExportProperties {
+    // NDJSON 내보내기 응답의 비동기 처리 시간 상한 (밀리초) - spring.mvc.async.request-timeout 대신 적용
+    private long timeout = 3600000;
+    // 이 행 수마다 응답 버퍼를 클라이언트로 밀어냄
+    private int flushEvery = 500;
+}
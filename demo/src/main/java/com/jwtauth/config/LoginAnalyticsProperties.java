@@ -0,0 +1,24 @@
+package com.jwtauth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "spring.login-analytics")
+public class LoginAnalyticsProperties {
+    private boolean enabled = true;
+    // 구간 길이 (밀리초)와 구간 수 - 조회 범위는 sliceDuration × slices (기본 1시간)
+    private long sliceDuration = 600000;
+    private int slices = 6;
+    // 구간별로 추적하는 상위 IP/사용자명 수 (Space-Saving 용량)
+    private int capacity = 1000;
+    // Count-Min 스케치 크기
+    private int sketchDepth = 4;
+    private int sketchWidth = 2048;
+    // IP별 고유 사용자명 HyperLogLog 정밀도 (레지스터 2^precision 바이트, 10이면 오차 약 3%)
+    private int hllPrecision = 10;
+    // 한 IP가 이 수 이상의 서로 다른 사용자명으로 실패하면 크리덴셜 스터핑으로 표시
+    private int credentialStuffingThreshold = 20;
+}
@@ -0,0 +1,51 @@
+package com.jwtauth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "spring.login-attempt")
+public class LoginAttemptProperties {
+    // 기록 대기열 길이 (메모리 상한)
+    private int capacity = 10000;
+    // 한 번에 INSERT하는 최대 건수
+    private int batchSize = 500;
+    // 대기 중인 기록을 모아 두는 최대 시간 (밀리초)
+    private long flushInterval = 200;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    // BLOCK 정책에서 대기열 자리를 기다리는 최대 시간 (밀리초) - 초과 시 버림
+    private long blockTimeout = 1000;
+    // IP별 최근 1시간 실패 카운터로 추적하는 최대 IP 수 (초과분은 집계하지 않음)
+    private int maxTrackedIps = 100000;
+    private Retention retention = new Retention();
+
+    // 시간별 집계(rollup)와 원본 기록 보존 기간
+    @Data
+    public static class Retention {
+        private boolean enabled = true;
+        // 집계/정리 실행 간격 (밀리초)
+        private long interval = 600000;
+        // 원본 로그인 시도 보존 기간 - 집계가 끝난 구간만 삭제
+        private int rawRetentionDays = 30;
+        // 시간별 집계 보존 기간
+        private int rollupRetentionDays = 400;
+        // 정각 이후 이 시간(밀리초)이 지나야 직전 1시간을 집계 (write-behind 저장 지연 고려)
+        private long rollupDelay = 120000;
+        // 한 번 실행에서 집계하는 최대 시간 수 (밀린 구간은 다음 실행에서 이어서 처리)
+        private int maxRollupHours = 48;
+        // 배치 삭제 1회 건수와 한 번 실행에서의 최대 배치 수
+        private int deleteBatchSize = 5000;
+        private int maxDeleteBatches = 200;
+        // MySQL 파티션 테이블일 때 미리 만들어 두는 일 단위 파티션 수
+        private int partitionAheadDays = 7;
+    }
+
+    public enum OverflowPolicy {
+        // 대기열이 가득 차면 즉시 버리고 카운트 (로그인 처리를 늦추지 않음)
+        DROP,
+        // 자리가 날 때까지 호출 스레드를 blockTimeout 동안 대기
+        BLOCK
+    }
+}
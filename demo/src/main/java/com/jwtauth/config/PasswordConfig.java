@@ -1,16 +1,56 @@
 package com.jwtauth.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
+@Slf4j
 @Configuration
 public class PasswordConfig {
 
+    public static final String BCRYPT_ID = "bcrypt";
+
+    private static final int CALIBRATION_SAMPLES = 3;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        // BCrypt 강도를 12로 설정하여 보안 강화
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        int strength = properties.getStrength() > 0 ? properties.getStrength() : calibrateStrength(properties);
+        log.info("BCrypt 강도 {} 사용 (목표 {}ms)", strength, properties.getTargetHashMillis());
+
+        // {bcrypt}$2a$<강도>$... 형식으로 저장 - 접두사 없는 기존 해시도 BCrypt로 검증하고 로그인 시 재해시 대상으로 판단
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Map.of(BCRYPT_ID, new BCryptPasswordEncoder(strength)));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(strength));
+        return passwordEncoder;
+    }
+
+    // 하한 강도에서 해시 시간을 측정하고, 강도가 1 오를 때마다 시간이 2배가 되는 점을 이용해 목표 이내의 최대 강도를 선택
+    static int calibrateStrength(PasswordHashingProperties properties) {
+        int minStrength = properties.getMinStrength();
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration"); // 워밍업
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        long targetNanos = properties.getTargetHashMillis() * 1_000_000L;
+        int strength = minStrength;
+        long estimated = best;
+        while (strength < properties.getMaxStrength() && estimated * 2 <= targetNanos) {
+            estimated *= 2;
+            strength++;
+        }
+        log.info("BCrypt 강도 측정: 강도 {}에서 {}µs, 선택 강도 {} (예상 {}ms)",
+                minStrength, best / 1000, strength, estimated / 1_000_000);
+        return strength;
     }
 }
@@ -0,0 +1,37 @@
+package com.jwtauth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "spring.password-hashing")
+public class PasswordHashingProperties {
+    // BCrypt 전용 스레드 수 (0이면 CPU 코어 수)
+    private int threads = 0;
+    // 대기열 길이 - 가득 차면 즉시 503으로 거부
+    private int queueCapacity = 64;
+    // 대기열에서 이 시간(밀리초) 이상 기다린 작업은 해시하지 않고 거부 (클라이언트가 이미 포기했을 가능성이 높음)
+    private long maxQueueWait = 5000;
+    // BCrypt 강도 - 0이면 시작 시 측정해 목표 시간에 맞는 값을 선택
+    private int strength = 0;
+    // 해시 1회 목표 시간 (밀리초) - 로그인 지연/처리량과 보안 사이의 조정값
+    private long targetHashMillis = 250;
+    // 측정 결과와 관계없이 적용되는 하한/상한
+    private int minStrength = 12; // 기존 고정 강도(12) - 낮추려면 명시적으로 설정
+    private int maxStrength = 16;
+    private FailureCache failureCache = new FailureCache();
+
+    // 같은 계정/비밀번호 조합의 반복 실패를 BCrypt 없이 거부하는 단기 캐시
+    @Data
+    public static class FailureCache {
+        private boolean enabled = true;
+        private long ttl = 5000; // 밀리초
+        private int capacity = 4096;
+    }
+
+    public int resolveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,23 @@
+package com.jwtauth.config;
+
+import com.jwtauth.ratelimit.InMemoryRateLimitBackend;
+import com.jwtauth.ratelimit.JdbcRateLimitBackend;
+import com.jwtauth.ratelimit.RateLimitBackend;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class RateLimitConfig {
+
+    // 클러스터 제한 사용 시에만 공유 카운터 저장소 생성
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.rate-limit.cluster", name = "enabled", havingValue = "true")
+    public RateLimitBackend rateLimitBackend(RateLimitProperties rateLimitProperties, JdbcTemplate jdbcTemplate) {
+        return switch (rateLimitProperties.getCluster().getBackend()) {
+            case JDBC -> new JdbcRateLimitBackend(jdbcTemplate);
+            case MEMORY -> new InMemoryRateLimitBackend();
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.jwtauth.config;
+
+import com.jwtauth.ratelimit.RateLimitPolicy;
+import com.jwtauth.ratelimit.RateLimiter;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "spring.rate-limit")
+public class RateLimitProperties {
+    // 로그인 시도 제한 (IP, 네트워크 대역, 계정, 전체)
+    private Login login = new Login();
+    // 여러 인스턴스가 카운터를 공유하는 클러스터 제한
+    private Cluster cluster = new Cluster();
+    // 인증/본문 파싱 이전에 적용하는 경로별 요청 제한
+    private Throttle throttle = new Throttle();
+    // X-Forwarded-For/X-Real-IP를 신뢰할 리버스 프록시 주소 (IP 또는 CIDR) - 비어 있으면 연결 주소만 사용
+    private List<String> trustedProxies = new ArrayList<>();
+
+    @Data
+    public static class Login {
+        private Policy ip = new Policy(RateLimitPolicy.Type.SLIDING_WINDOW, 5, 900000);
+        private Policy subnet = new Policy(RateLimitPolicy.Type.SLIDING_WINDOW, 50, 900000);
+        private Policy username = new Policy(RateLimitPolicy.Type.SLIDING_WINDOW, 10, 900000);
+        private Policy global = new Policy(RateLimitPolicy.Type.TOKEN_BUCKET, 1000, 60000);
+        private int ipv4SubnetPrefix = 24;
+        private int ipv6SubnetPrefix = 64;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Policy {
+        private boolean enabled = true;
+        private RateLimitPolicy.Type type = RateLimitPolicy.Type.SLIDING_WINDOW;
+        private int limit = 5;
+        private long window = 900000; // 15분
+        private long maxMemory = 4194304; // 키 테이블 메모리 상한 (바이트, 4MB)
+
+        public Policy(RateLimitPolicy.Type type, int limit, long window) {
+            this.type = type;
+            this.limit = limit;
+            this.window = window;
+        }
+
+        public RateLimiter toRateLimiter() {
+            return new RateLimiter(RateLimitPolicy.create(type, limit, window), RateLimiter.capacityForMemory(maxMemory));
+        }
+    }
+
+    @Data
+    public static class Throttle {
+        private boolean enabled = true;
+        // 먼저 일치하는 경로의 정책 하나만 적용 (구체적인 경로를 앞에 둘 것)
+        private List<Route> routes = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @EqualsAndHashCode(callSuper = true)
+    public static class Route extends Policy {
+        private String pattern;
+
+        public Route(String pattern, RateLimitPolicy.Type type, int limit, long window) {
+            super(type, limit, window);
+            this.pattern = pattern;
+        }
+    }
+
+    @Data
+    public static class Cluster {
+        private boolean enabled = false;
+        private Backend backend = Backend.JDBC;
+        private long syncInterval = 1000; // 로컬 증분 전송 주기 (밀리초) - 짧을수록 전역 오차가 작음
+        private int maxKeys = 100000; // 한 window에서 전역으로 추적할 최대 키 수
+
+        public enum Backend {
+            JDBC, MEMORY
+        }
+    }
+}
@@ -1,86 +1,236 @@
 package com.jwtauth.config;
 
+import com.jwtauth.ratelimit.ClusterRateLimiter;
+import com.jwtauth.ratelimit.LoginRateLimiter;
+import com.jwtauth.ratelimit.RateLimitBackend;
+import com.jwtauth.ratelimit.RateLimitDimension;
+import com.jwtauth.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class RateLimitingService {
 
-    private static final int MAX_ATTEMPTS = 5;
-    private static final int LOCKOUT_DURATION_MINUTES = 15;
-
-    private final Map<String, AttemptInfo> loginAttempts = new ConcurrentHashMap<>();
-
-    public boolean isAllowed(String clientIp) {
-        AttemptInfo attemptInfo = loginAttempts.get(clientIp);
-
-        if (attemptInfo == null) {
-            return true;
+    private final LoginRateLimiter loginLimiter;
+    private final IpAddressMatcher[] trustedProxies;
+    // 클러스터 동기화 전용 스레드 - 공용 스케줄러의 오래 걸리는 작업(보존 정리 등)에 밀리지 않게 분리
+    private final ScheduledExecutorService clusterSyncExecutor;
+
+    public RateLimitingService(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry,
+                               ObjectProvider<RateLimitBackend> rateLimitBackend) {
+        RateLimitProperties.Login login = rateLimitProperties.getLogin();
+        RateLimitBackend backend = rateLimitBackend.getIfAvailable();
+        this.trustedProxies = rateLimitProperties.getTrustedProxies().stream()
+                .map(IpAddressMatcher::new)
+                .toArray(IpAddressMatcher[]::new);
+
+        RateLimitDimension[] dimensions = RateLimitDimension.values();
+        RateLimiter[] limiters = new RateLimiter[dimensions.length];
+        ClusterRateLimiter[] clusterLimiters = new ClusterRateLimiter[dimensions.length];
+        for (RateLimitDimension dimension : dimensions) {
+            RateLimitProperties.Policy policy = policyOf(login, dimension);
+            if (!policy.isEnabled()) {
+                continue;
+            }
+            limiters[dimension.ordinal()] = policy.toRateLimiter();
+            if (backend != null) {
+                clusterLimiters[dimension.ordinal()] = new ClusterRateLimiter(backend, policy.getLimit(),
+                        policy.getWindow(), rateLimitProperties.getCluster().getMaxKeys());
+            }
         }
 
-        // 잠금 시간이 지났으면 초기화
-        if (attemptInfo.isLockoutExpired()) {
-            loginAttempts.remove(clientIp);
-            return true;
+        this.loginLimiter = new LoginRateLimiter(limiters, clusterLimiters,
+                login.getIpv4SubnetPrefix(), login.getIpv6SubnetPrefix());
+        registerMetrics(meterRegistry);
+
+        if (backend != null) {
+            long syncInterval = rateLimitProperties.getCluster().getSyncInterval();
+            this.clusterSyncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "rate-limit-cluster-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            clusterSyncExecutor.scheduleWithFixedDelay(this::syncCluster, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        } else {
+            this.clusterSyncExecutor = null;
         }
-
-        return attemptInfo.getAttempts() < MAX_ATTEMPTS;
     }
 
-    public void recordFailedAttempt(String clientIp) {
-        AttemptInfo attemptInfo = loginAttempts.computeIfAbsent(clientIp,
-            k -> new AttemptInfo());
+    // 로그인 시도 1회를 원자적으로 예약 - 허용되면 null, 거부되면 한도를 넘은 기준
+    public RateLimitDimension tryAcquireLogin(String clientIp, String username) {
+        long now = System.nanoTime();
+        RateLimitDimension rejected = loginLimiter.tryAcquire(clientIp, username, now, System.currentTimeMillis());
+        // IP가 한도에 도달한 시점에만 기록 (거부될 때마다 기록하면 공격 중 로그가 폭증)
+        if (rejected == null && !loginLimiter.permits(RateLimitDimension.IP, clientIp, username, now)) {
+            log.warn("IP {} 잠금 처리됨 - 로그인 시도 한도 도달", clientIp);
+        }
+        return rejected;
+    }
 
-        attemptInfo.incrementAttempts();
+    // 상태 변경 없이 IP 기준 허용 여부만 확인
+    public boolean isAllowed(String clientIp) {
+        return loginLimiter.permits(RateLimitDimension.IP, clientIp, null, System.nanoTime());
+    }
 
-        if (attemptInfo.getAttempts() >= MAX_ATTEMPTS) {
-            attemptInfo.lockout();
-            log.warn("IP {} 잠금 처리됨 - {}번 연속 로그인 실패", clientIp, MAX_ATTEMPTS);
-        }
+    public void recordSuccessfulAttempt(String clientIp, String username) {
+        loginLimiter.reset(clientIp, username);
     }
 
-    public void recordSuccessfulAttempt(String clientIp) {
-        loginAttempts.remove(clientIp);
+    public long getRetryAfterSeconds(RateLimitDimension dimension, String clientIp, String username) {
+        long nanos = loginLimiter.retryAfterNanos(dimension, clientIp, username,
+                System.nanoTime(), System.currentTimeMillis());
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
     }
 
+    // 신뢰하는 프록시에서 온 연결만 X-Forwarded-For/X-Real-IP를 따름 - 그 외 연결의 헤더는 클라이언트가 임의로 넣을 수 있으므로 연결 주소 사용
     public String getClientIpAddress(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
+            // 가장 가까운 홉(오른쪽)부터 신뢰하는 프록시를 건너뛰고 처음 만나는 주소가 클라이언트
+            String[] hops = xForwardedFor.split(",");
+            String client = remoteAddr;
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (hop.isEmpty()) {
+                    continue;
+                }
+                client = hop;
+                if (!isTrustedProxy(hop)) {
+                    break;
+                }
+            }
+            return client;
         }
 
         String xRealIp = request.getHeader("X-Real-IP");
         if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
+            return xRealIp.trim();
         }
 
-        return request.getRemoteAddr();
+        return remoteAddr;
     }
 
-    private static class AttemptInfo {
-        private int attempts = 0;
-        private LocalDateTime lockoutTime;
+    private boolean isTrustedProxy(String address) {
+        // IP 리터럴만 비교 (호스트 이름이면 IpAddressMatcher가 DNS 조회를 하게 됨)
+        if (trustedProxies.length == 0 || address == null || !isIpLiteral(address)) {
+            return false;
+        }
+        try {
+            for (IpAddressMatcher trustedProxy : trustedProxies) {
+                if (trustedProxy.matches(address)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private static boolean isIpLiteral(String address) {
+        if (address.isEmpty()) {
+            return false;
+        }
+        boolean ipv6 = address.indexOf(':') >= 0;
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            boolean allowed = (c >= '0' && c <= '9') || c == '.'
+                    || (ipv6 && (c == ':' || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')));
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static RateLimitProperties.Policy policyOf(RateLimitProperties.Login login, RateLimitDimension dimension) {
+        return switch (dimension) {
+            case IP -> login.getIp();
+            case SUBNET -> login.getSubnet();
+            case USERNAME -> login.getUsername();
+            case GLOBAL -> login.getGlobal();
+        };
+    }
 
-        public void incrementAttempts() {
-            this.attempts++;
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        for (RateLimitDimension dimension : RateLimitDimension.values()) {
+            String name = dimension.name().toLowerCase();
+            FunctionCounter.builder("rate.limit.rejections", loginLimiter, limiter -> limiter.getRejections(dimension))
+                    .tag("limiter", name)
+                    .register(meterRegistry);
+
+            RateLimiter rateLimiter = loginLimiter.getLimiter(dimension);
+            if (rateLimiter != null) {
+                Gauge.builder("rate.limit.entries", rateLimiter, RateLimiter::size)
+                        .tag("limiter", name)
+                        .register(meterRegistry);
+                Gauge.builder("rate.limit.capacity", rateLimiter, RateLimiter::getCapacity)
+                        .tag("limiter", name)
+                        .register(meterRegistry);
+                FunctionCounter.builder("rate.limit.evictions", rateLimiter, RateLimiter::getEvictions)
+                        .tag("limiter", name)
+                        .register(meterRegistry);
+            }
+
+            ClusterRateLimiter clusterRateLimiter = loginLimiter.getClusterLimiter(dimension);
+            if (clusterRateLimiter != null) {
+                Gauge.builder("rate.limit.cluster.keys", clusterRateLimiter, ClusterRateLimiter::size)
+                        .tag("limiter", name)
+                        .register(meterRegistry);
+                FunctionCounter.builder("rate.limit.cluster.sync.failures", clusterRateLimiter, ClusterRateLimiter::getSyncFailures)
+                        .tag("limiter", name)
+                        .register(meterRegistry);
+                FunctionCounter.builder("rate.limit.cluster.untracked", clusterRateLimiter, ClusterRateLimiter::getUntrackedKeys)
+                        .tag("limiter", name)
+                        .register(meterRegistry);
+            }
         }
+    }
 
-        public void lockout() {
-            this.lockoutTime = LocalDateTime.now().plusMinutes(LOCKOUT_DURATION_MINUTES);
+    // 로컬 증분 전송 및 전역 카운트 수신 (syncInterval마다 전용 스레드에서 실행)
+    public void syncCluster() {
+        try {
+            loginLimiter.syncCluster(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // 예외가 빠져나가면 이후 실행이 모두 취소되므로 기록만 하고 다음 주기에 재시도
+            log.warn("Rate Limit 클러스터 동기화 실패: {}", e.getMessage());
         }
+    }
 
-        public boolean isLockoutExpired() {
-            return lockoutTime == null || LocalDateTime.now().isAfter(lockoutTime);
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (clusterSyncExecutor != null) {
+            clusterSyncExecutor.shutdown();
+            if (!clusterSyncExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                clusterSyncExecutor.shutdownNow();
+            }
         }
+    }
 
-        public int getAttempts() {
-            return attempts;
+    // 제한에 더 이상 영향이 없는 항목 정리 (5분마다)
+    @Scheduled(fixedRate = 300000)
+    public void purgeIdleEntries() {
+        int removed = loginLimiter.purgeIdle(System.nanoTime());
+        if (removed > 0) {
+            log.debug("로그인 Rate Limit 항목 {}개 정리", removed);
         }
     }
 }
@@ -1,6 +1,7 @@
 package com.jwtauth.config;
 
 import com.jwtauth.security.JwtAuthenticationFilter;
+import com.jwtauth.security.RequestThrottleFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -30,6 +31,7 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RequestThrottleFilter requestThrottleFilter;
     private final UserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
 
@@ -47,8 +49,12 @@ public class SecurityConfig {
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // 토큰 조회는 내부 서비스 계정만 (RFC 7662 2.1 - 호출자 인증 필요)
+                        .requestMatchers("/api/auth/introspect").hasAnyRole("SERVICE", "ADMIN")
+
                         // 공개 엔드포인트
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/actuator/health", "/actuator/info").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
@@ -65,7 +71,9 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // 토큰 검증, 본문 파싱보다 먼저 경로별 요청 제한 적용
+                .addFilterBefore(requestThrottleFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
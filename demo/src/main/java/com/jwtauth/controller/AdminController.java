@@ -5,6 +5,7 @@ import com.jwtauth.dto.request.UserUpdateRequest;
 import com.jwtauth.dto.response.*;
 import com.jwtauth.entity.LoginAttempt;
 import com.jwtauth.entity.User;
+import com.jwtauth.service.LoginAnalyticsService;
 import com.jwtauth.service.LoginAttemptService;
 import com.jwtauth.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +24,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -38,6 +41,8 @@ public class AdminController {
 
     private final UserService userService;
     private final LoginAttemptService loginAttemptService;
+    private final LoginAnalyticsService loginAnalyticsService;
+    private final NdjsonExporter ndjsonExporter;
 
     @GetMapping("/dashboard")
     @Operation(
@@ -297,6 +302,21 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(days + "일 이상 비활성 사용자 목록", inactiveUsers));
     }
 
+    @GetMapping(value = "/users/inactive/export", produces = "application/x-ndjson")
+    @Operation(
+            summary = "비활성 사용자 내보내기",
+            description = "비활성 사용자 전체를 NDJSON(한 줄에 사용자 하나)으로 스트리밍합니다."
+    )
+    public ResponseEntity<StreamingResponseBody> exportInactiveUsers(
+            @RequestParam(defaultValue = "30") int days, HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+
+        log.info("비활성 사용자 내보내기 by 관리자: {} ({}일 이상)", username, days);
+        return ndjsonExporter.stream(request,
+                (NdjsonExporter.RowSource<UserResponse>) sink -> userService.exportInactiveUsers(days, sink));
+    }
+
     @PostMapping("/users/disable-inactive")
     public ResponseEntity<ApiResponse<Map<String, Integer>>> disableInactiveUsers(
             @RequestParam(defaultValue = "90") int days) {
@@ -330,23 +350,102 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("로그인 시도 기록", suspiciousActivities));
     }
 
+    @GetMapping(value = "/security/login-attempts/export", produces = "application/x-ndjson")
+    @Operation(
+            summary = "로그인 실패 기록 내보내기",
+            description = "지정한 시간 범위의 로그인 실패 기록 전체를 NDJSON(한 줄에 기록 하나)으로 스트리밍합니다."
+    )
+    public ResponseEntity<StreamingResponseBody> exportLoginAttempts(
+            @Parameter(description = "조회할 시간 범위 (시간 단위)")
+            @RequestParam(defaultValue = "24") int hours,
+            HttpServletRequest request) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+
+        log.info("로그인 실패 기록 내보내기 by 관리자: {} ({}시간)", username, hours);
+        return ndjsonExporter.stream(request,
+                (NdjsonExporter.RowSource<LoginHistoryResponse>) sink -> loginAttemptService.exportFailedAttempts(hours, sink));
+    }
+
+    @GetMapping("/security/heavy-hitters")
+    @Operation(
+            summary = "로그인 실패 상위 IP/사용자명 조회",
+            description = "최근 분석 구간(기본 1시간) 동안 로그인 실패가 많은 IP와 사용자명을 메모리 내 스케치로 조회합니다. "
+                    + "IP별 고유 사용자명 수로 크리덴셜 스터핑 의심 여부를 표시합니다."
+    )
+    public ResponseEntity<ApiResponse<LoginAnalyticsResponse>> getHeavyHitters(
+            @Parameter(description = "조회할 항목 수")
+            @RequestParam(defaultValue = "20") int limit) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+
+        LoginAnalyticsResponse analytics = loginAnalyticsService.getTopFailures(limit);
+
+        log.info("로그인 실패 상위 항목 조회 by 관리자: {} (상위 {}개)", username, limit);
+        return ResponseEntity.ok(ApiResponse.success("로그인 실패 상위 항목", analytics));
+    }
+
+    @GetMapping("/security/login-statistics")
+    @Operation(
+            summary = "로그인 통계 조회",
+            description = "최근 로그인 성공/실패 횟수와 실패가 많은 IP, 사용자명을 시간별 집계 기반으로 조회합니다."
+    )
+    public ResponseEntity<ApiResponse<LoginStatisticsResponse>> getLoginStatistics(
+            @Parameter(description = "조회할 시간 범위 (시간 단위)")
+            @RequestParam(defaultValue = "24") int hours,
+            @Parameter(description = "상위 목록 크기")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+
+        LoginStatisticsResponse statistics = loginAttemptService.getLoginStatistics(hours, limit);
+
+        log.info("로그인 통계 조회 by 관리자: {} ({}시간)", username, hours);
+        return ResponseEntity.ok(ApiResponse.success("로그인 통계", statistics));
+    }
+
     @GetMapping("/security/user-history/{targetUsername}")
     @Operation(
             summary = "특정 사용자 로그인 히스토리",
-            description = "특정 사용자의 로그인 히스토리를 조회합니다."
+            description = "특정 사용자의 로그인 히스토리를 최신순으로 조회합니다. nextCursor로 다음 페이지를 조회합니다."
     )
-    public ResponseEntity<ApiResponse<List<LoginAttempt>>> getUserLoginHistory(
+    public ResponseEntity<ApiResponse<CursorPageResponse<LoginHistoryResponse>>> getUserLoginHistory(
             @Parameter(description = "조회할 사용자명", required = true)
             @PathVariable String targetUsername,
-            @Parameter(description = "조회할 기록 수")
-            @RequestParam(defaultValue = "50") int limit) {
+            @Parameter(description = "조회할 기록 수 (최대 500)")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "이전 응답의 nextCursor (없으면 최신 기록부터)")
+            @RequestParam(required = false) String cursor) {
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String adminUsername = authentication.getName();
 
-        List<LoginAttempt> history = loginAttemptService.getUserLoginHistory(targetUsername, limit);
+        CursorPageResponse<LoginHistoryResponse> history =
+                loginAttemptService.getUserLoginHistory(targetUsername, limit, cursor);
 
         log.info("사용자 '{}' 로그인 히스토리 조회 by 관리자: {}", targetUsername, adminUsername);
         return ResponseEntity.ok(ApiResponse.success("사용자 로그인 히스토리", history));
     }
+
+    @GetMapping(value = "/security/user-history/{targetUsername}/export", produces = "application/x-ndjson")
+    @Operation(
+            summary = "특정 사용자 로그인 히스토리 내보내기",
+            description = "특정 사용자의 로그인 히스토리 전체를 최신순 NDJSON(한 줄에 기록 하나)으로 스트리밍합니다."
+    )
+    public ResponseEntity<StreamingResponseBody> exportUserLoginHistory(
+            @Parameter(description = "조회할 사용자명", required = true)
+            @PathVariable String targetUsername,
+            HttpServletRequest request) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String adminUsername = authentication.getName();
+
+        log.info("사용자 '{}' 로그인 히스토리 내보내기 by 관리자: {}", targetUsername, adminUsername);
+        return ndjsonExporter.stream(request,
+                (NdjsonExporter.RowSource<LoginHistoryResponse>) sink ->
+                        loginAttemptService.exportUserLoginHistory(targetUsername, sink));
+    }
 }
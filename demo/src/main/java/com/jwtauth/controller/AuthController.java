@@ -3,6 +3,7 @@ package com.jwtauth.controller;
 import com.jwtauth.dto.request.*;
 import com.jwtauth.dto.response.*;
 import com.jwtauth.service.AuthService;
+import com.jwtauth.service.TokenIntrospectionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,10 +14,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/auth")
@@ -25,6 +31,7 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Authentication", description = "인증 관련 API - 로그인, 회원가입, 토큰 관리")
 public class AuthController {
     private final AuthService authService;
+    private final TokenIntrospectionService tokenIntrospectionService;
 
     @PostMapping("/login")
     @Operation(
@@ -66,18 +73,28 @@ public class AuthController {
                             mediaType = "application/json",
                             schema = @Schema(implementation = ErrorResponse.class)
                     )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "비밀번호 처리 대기열 포화 - Retry-After 이후 재시도",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
             )
     })
-    public ResponseEntity<ApiResponse<TokenResponse>> login(
+    public CompletableFuture<ResponseEntity<ApiResponse<TokenResponse>>> login(
             @RequestBody @Validated LoginRequest loginRequest,
             HttpServletRequest request
     ) {
         log.info("로그인 시도: {}", loginRequest.getUsername());
 
-        TokenResponse tokenResponse = authService.login(loginRequest, request);
-
-        log.info("로그인 성공: {}", loginRequest.getUsername());
-        return ResponseEntity.ok(ApiResponse.success("로그인 성공", tokenResponse));
+        // BCrypt 검증 동안 요청 스레드를 반환 (servlet async)
+        return authService.login(loginRequest, request)
+                .thenApply(tokenResponse -> {
+                    log.info("로그인 성공: {}", loginRequest.getUsername());
+                    return ResponseEntity.ok(ApiResponse.success("로그인 성공", tokenResponse));
+                });
     }
 
     @PostMapping("/signup")
@@ -110,13 +127,14 @@ public class AuthController {
                     description = "충돌 - 이미 존재하는 사용자명 또는 이메일"
             )
     })
-    public ResponseEntity<ApiResponse<Void>> signup(@RequestBody @Validated UserRegistrationRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<Void>>> signup(@RequestBody @Validated UserRegistrationRequest request) {
         log.info("회원가입 요청: {}", request.getUsername());
 
-        authService.register(request);
-
-        log.info("회원가입 성공: {}", request.getUsername());
-        return ResponseEntity.ok(ApiResponse.success("회원가입이 완료되었습니다.", null));
+        return authService.register(request)
+                .thenApply(ignored -> {
+                    log.info("회원가입 성공: {}", request.getUsername());
+                    return ResponseEntity.ok(ApiResponse.<Void>success("회원가입이 완료되었습니다.", null));
+                });
     }
 
     @PostMapping("/refresh")
@@ -217,12 +235,59 @@ public class AuthController {
                     description = "현재 비밀번호 인증 실패"
             )
     })
-    public ResponseEntity<ApiResponse<Void>> changePassword(
+    public CompletableFuture<ResponseEntity<ApiResponse<Void>>> changePassword(
             @Parameter(description = "사용자명", required = true)
             @RequestParam String username,
             @RequestBody @Validated PasswordChangeRequest request
     ) {
-        authService.changePassword(username, request);
-        return ResponseEntity.ok(ApiResponse.success("비밀번호 변경 성공", null));
+        return authService.changePassword(username, request)
+                .thenApply(ignored -> ResponseEntity.ok(ApiResponse.<Void>success("비밀번호 변경 성공", null)));
+    }
+
+    @PostMapping("/introspect")
+    @Operation(
+            summary = "토큰 조회 (introspection)",
+            description = "내부 서비스용 API로, 하나 또는 여러 토큰의 유효 여부와 클레임을 요청 순서대로 반환합니다. " +
+                    "SERVICE 또는 ADMIN 권한의 Access Token으로 호출해야 합니다. " +
+                    "응답은 가장 먼저 만료되는 활성 토큰의 남은 시간 이내에서 캐시할 수 있습니다.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "조회할 토큰 (token 또는 tokens)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TokenIntrospectionRequest.class),
+                            examples = @ExampleObject(
+                                    name = "일괄 조회 예시",
+                                    value = "{\n  \"tokens\": [\"eyJhbGciOi...\", \"eyJhbGciOi...\"]\n}"
+                            )
+                    )
+            )
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "조회 성공 - 유효하지 않은 토큰은 active=false"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "잘못된 요청 - 토큰 없음 또는 최대 개수 초과"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "403",
+                    description = "접근 권한 없음 - 서비스 계정 인증 필요"
+            )
+    })
+    public ResponseEntity<ApiResponse<List<TokenIntrospectionResponse>>> introspect(
+            @RequestBody TokenIntrospectionRequest request
+    ) {
+        TokenIntrospectionService.IntrospectionResult result =
+                tokenIntrospectionService.introspect(request.allTokens());
+
+        CacheControl cacheControl = result.getMaxAgeSeconds() > 0
+                ? CacheControl.maxAge(result.getMaxAgeSeconds(), TimeUnit.SECONDS).cachePrivate()
+                : CacheControl.noStore();
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(ApiResponse.success("토큰 조회 성공", result.getResponses()));
     }
 }
@@ -0,0 +1,50 @@
+package com.jwtauth.controller;
+
+import com.jwtauth.security.JwtKeyRing;
+import com.jwtauth.security.JwtProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JWKS", description = "Access Token 검증용 공개 키 (JSON Web Key Set)")
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+    private final JwtProperties jwtProperties;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(
+            summary = "JWKS 조회",
+            description = "ES256 Access Token 검증용 공개 키 목록을 반환합니다. 하위 서비스는 kid로 키를 선택하여 로컬에서 검증합니다."
+    )
+    public ResponseEntity<Map<String, Object>> getJwks(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        JwtKeyRing.JwkSet jwkSet = keyRing.getJwkSet();
+        CacheControl cacheControl = CacheControl
+                .maxAge(jwtProperties.getKeyRotation().getJwksMaxAge(), TimeUnit.SECONDS)
+                .cachePublic();
+
+        if (jwkSet.getEtag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(jwkSet.getEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(jwkSet.getEtag())
+                .cacheControl(cacheControl)
+                .body(jwkSet.toJson());
+    }
+}
@@ -0,0 +1,76 @@
+package com.jwtauth.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jwtauth.config.ExportProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/*
+ * 대용량 조회 결과를 application/x-ndjson(한 줄에 JSON 객체 하나)으로 스트리밍하는 응답 생성기.
+ * 행은 DB 커서에서 읽는 즉시 Jackson 생성기 버퍼(고정 크기)를 거쳐 응답으로 쓰이므로 메모리 사용량이 결과 크기와 무관하다.
+ * 본문 작성은 MVC 비동기 스레드에서 실행되며, 행 공급자는 그 안에서 읽기 전용 트랜잭션을 열고 닫는다.
+ */
+@Component
+public class NdjsonExporter {
+
+    private final ObjectWriter writer;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties properties;
+
+    public NdjsonExporter(ObjectMapper objectMapper, ExportProperties properties) {
+        this.objectMapper = objectMapper;
+        // 행마다 flush하지 않고 flushEvery 단위로 밀어냄
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.properties = properties;
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> stream(HttpServletRequest request, RowSource<T> source) {
+        // 긴 내보내기가 로그인용 비동기 타임아웃(spring.mvc.async.request-timeout)에 걸리지 않도록 이 요청만 연장
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncWebRequest != null) {
+            asyncWebRequest.setTimeout(properties.getTimeout());
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                long[] rows = new long[1];
+                source.forEach(row -> {
+                    try {
+                        writer.writeValue(generator, row);
+                        generator.writeRaw('\n');
+                        if (++rows[0] % properties.getFlushEvery() == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        // 클라이언트 연결 종료 등 - 커서와 트랜잭션을 닫도록 조회를 중단
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // 행을 sink에 하나씩 전달하는 공급자
+    @FunctionalInterface
+    public interface RowSource<T> {
+        void forEach(Consumer<? super T> sink);
+    }
+}
@@ -0,0 +1,34 @@
+package com.jwtauth.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIntrospectionRequest {
+
+    // 단일 토큰 조회
+    private String token;
+
+    // 일괄 조회
+    private List<String> tokens;
+
+    // 단일/일괄 요청을 하나의 목록으로 (요청 순서 유지)
+    public List<String> allTokens() {
+        List<String> all = new ArrayList<>();
+        if (token != null) {
+            all.add(token);
+        }
+        if (tokens != null) {
+            all.addAll(tokens);
+        }
+        return all;
+    }
+}
@@ -0,0 +1,24 @@
+package com.jwtauth.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 스트리밍 스케치로 추정한 실패 빈도 (estimatedFailures는 상한, guaranteedFailures는 하한)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HeavyHitterResponse {
+
+    private String value;
+    private long estimatedFailures;
+    private long guaranteedFailures;
+
+    // IP 항목만 - 이 IP에서 실패한 고유 사용자명 수 추정값
+    private Long distinctUsernames;
+    private Boolean credentialStuffing;
+}
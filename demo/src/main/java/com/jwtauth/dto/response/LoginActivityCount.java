@@ -0,0 +1,24 @@
+package com.jwtauth.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// IP 또는 사용자명 단위 로그인 성공/실패 횟수 (JPQL 생성자 프로젝션)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginActivityCount {
+
+    private String value;
+    private long successCount;
+    private long failureCount;
+
+    public LoginActivityCount(String value, Long successCount, Long failureCount) {
+        this.value = value;
+        this.successCount = successCount != null ? successCount : 0;
+        this.failureCount = failureCount != null ? failureCount : 0;
+    }
+}
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class LoginHistoryResponse {
 
+    private Long id;
     private String username;
     private String ipAddress;
     private String userAgent;
@@ -24,4 +25,16 @@ public class LoginHistoryResponse {
     private LocalDateTime timestamp;
 
     private String location; // IP 기반 대략적 위치 (선택사항)
+
+    // JPQL 생성자 프로젝션용 (엔티티 전체를 읽지 않고 필요한 컬럼만 조회)
+    public LoginHistoryResponse(Long id, String username, String ipAddress, String userAgent, Boolean successful,
+                                String failureReason, LocalDateTime timestamp) {
+        this.id = id;
+        this.username = username;
+        this.ipAddress = ipAddress;
+        this.userAgent = userAgent;
+        this.successful = Boolean.TRUE.equals(successful);
+        this.failureReason = failureReason;
+        this.timestamp = timestamp;
+    }
 }
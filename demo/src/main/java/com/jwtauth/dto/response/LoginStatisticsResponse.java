@@ -0,0 +1,32 @@
+package com.jwtauth.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginStatisticsResponse {
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime from;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime to;
+
+    // 이 시각 이전 구간은 시간별 집계, 이후 구간은 원본 기록에서 계산
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime rolledUpUntil;
+
+    private long successCount;
+    private long failureCount;
+    private List<LoginActivityCount> topFailedIps;
+    private List<LoginActivityCount> topFailedUsernames;
+}
@@ -0,0 +1,32 @@
+package com.jwtauth.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// RFC 7662 형식의 토큰 조회 결과 (비활성 토큰은 active=false 만 반환)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionResponse {
+
+    private boolean active;
+    private String sub;
+    private String role;
+    private String jti;
+
+    @JsonProperty("token_type")
+    private String tokenType;
+
+    private Long iat; // epoch 초
+    private Long exp; // epoch 초
+
+    public static TokenIntrospectionResponse inactive() {
+        return TokenIntrospectionResponse.builder().active(false).build();
+    }
+}
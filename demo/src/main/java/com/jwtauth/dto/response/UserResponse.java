@@ -1,6 +1,7 @@
 package com.jwtauth.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.jwtauth.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -30,4 +31,12 @@ public class UserResponse {
 
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updatedAt;
+
+    // JPQL 생성자 프로젝션용 (내보내기 스트리밍)
+    public UserResponse(String username, String email, User.Role role, Boolean enabled, Boolean accountNonExpired,
+                        Boolean accountNonLocked, Boolean credentialsNonExpired, LocalDateTime lastLoginAt,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(username, email, role.name(), enabled, accountNonExpired, accountNonLocked, credentialsNonExpired,
+                lastLoginAt, createdAt, updatedAt);
+    }
 }
@@ -0,0 +1,32 @@
+package com.jwtauth.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// ES256 Access Token 서명 키 (모든 인스턴스가 공유, JwtSigningKeyStore가 JDBC로 직접 갱신)
+// 개인 키는 spring.jwt.secret에서 파생한 키로 AES-GCM 암호화해 저장
+@Entity
+@Table(name = "jwt_signing_keys", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_jwt_signing_keys_activates_at", columnNames = "activates_at")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtSigningKey {
+
+    @Id
+    @Column(name = "kid", length = 32, nullable = false)
+    private String kid;
+
+    // 이 시각(epoch 밀리초)부터 서명에 사용 - 다음 키가 활성화되면 폐기
+    @Column(name = "activates_at", nullable = false)
+    private Long activatesAt;
+
+    @Column(name = "public_key", length = 512, nullable = false)
+    private byte[] publicKey;
+
+    @Column(name = "private_key", length = 512, nullable = false)
+    private byte[] privateKey;
+}
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "login_attempts", indexes = {
     @Index(name = "idx_login_attempts_ip", columnList = "ip_address"),
-    @Index(name = "idx_login_attempts_username", columnList = "username"),
+    @Index(name = "idx_login_attempts_username_time", columnList = "username, attempt_time"),
     @Index(name = "idx_login_attempts_timestamp", columnList = "attempt_time")
 })
 @EntityListeners(AuditingEntityListener.class)
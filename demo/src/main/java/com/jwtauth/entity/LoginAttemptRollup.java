@@ -0,0 +1,54 @@
+package com.jwtauth.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// 로그인 시도 시간별 집계 (시간 시작 시각 + IP/사용자명 단위, LoginAttemptRetentionService가 JDBC로 직접 생성)
+@Entity
+@Table(name = "login_attempt_rollups")
+@IdClass(LoginAttemptRollup.RollupId.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginAttemptRollup {
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 10, nullable = false)
+    private Dimension dimension;
+
+    @Id
+    @Column(name = "dimension_value", length = 50, nullable = false)
+    private String dimensionValue;
+
+    @Column(name = "success_count", nullable = false)
+    private Long successCount;
+
+    @Column(name = "failure_count", nullable = false)
+    private Long failureCount;
+
+    public enum Dimension {
+        IP,
+        USERNAME
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class RollupId implements Serializable {
+        private LocalDateTime bucketStart;
+        private Dimension dimension;
+        private String dimensionValue;
+    }
+}
@@ -0,0 +1,41 @@
+package com.jwtauth.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// 클러스터 Rate Limit 전역 카운터 (window 시작 시각 + 키 단위, JdbcRateLimitBackend가 JDBC로 직접 갱신)
+@Entity
+@Table(name = "rate_limit_counters", indexes = {
+    @Index(name = "idx_rate_limit_counters_window", columnList = "window_start")
+})
+@IdClass(RateLimitCounter.CounterId.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitCounter {
+
+    @Id
+    @Column(name = "window_start", nullable = false)
+    private Long windowStart;
+
+    @Id
+    @Column(name = "counter_key", length = 100, nullable = false)
+    private String counterKey;
+
+    @Column(name = "attempts", nullable = false)
+    private Long attempts;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class CounterId implements Serializable {
+        private Long windowStart;
+        private String counterKey;
+    }
+}
@@ -75,7 +75,8 @@ public class User {
     public enum Role {
         USER("ROLE_USER"),
         MODERATOR("ROLE_MODERATOR"),
-        ADMIN("ROLE_ADMIN");
+        ADMIN("ROLE_ADMIN"),
+        SERVICE("ROLE_SERVICE"); // 내부 서비스 계정 (토큰 조회 API 호출용)
 
         private final String authority;
 
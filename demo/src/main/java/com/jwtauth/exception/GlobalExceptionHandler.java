@@ -3,6 +3,8 @@ package com.jwtauth.exception;
 import com.jwtauth.dto.response.ApiResponse;
 import com.jwtauth.dto.response.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -126,6 +128,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejectedException(
+            TaskRejectedException ex, WebRequest request) {
+        log.warn("요청 처리 거부 (과부하): {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                "SERVICE_OVERLOADED",
+                "요청이 많아 잠시 처리할 수 없습니다. 잠시 후 다시 시도해주세요.",
+                request.getDescription(false).replace("uri=", ""),
+                HttpStatus.SERVICE_UNAVAILABLE.value()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponse<Void>> handleRuntimeException(RuntimeException ex) {
         log.error("런타임 오류 발생: {}", ex.getMessage(), ex);
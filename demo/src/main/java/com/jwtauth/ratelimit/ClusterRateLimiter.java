@@ -0,0 +1,251 @@
+package com.jwtauth.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 여러 인스턴스에 걸친 근사 전역 Rate Limiter (wall clock 기준 고정 window).
+ * 요청 경로에서는 마지막으로 받아 온 전역 카운트 + 아직 보내지 않은 로컬 증분만 보고 판단하므로 원격 호출이 없다.
+ * sync()가 주기적으로 로컬 증분을 배치로 보내고 전역 카운트를 받아 온다.
+ * window가 바뀌면 요청 경로는 카운터 맵만 새로 바꾸고, 지난 window의 남은 증분 전송과 오래된 전역 카운터 삭제는 sync()가 맡는다.
+ * 오차 상한: 한 동기화 주기 동안 다른 노드들이 허용한 시도 수 (노드 수 × 주기당 노드별 허용 수).
+ */
+@Slf4j
+public class ClusterRateLimiter {
+
+    private final RateLimitBackend backend;
+    private final int limit;
+    private final long windowMillis;
+    private final int maxKeys;
+
+    private final AtomicReference<Window> current;
+    // 지난 window - 아직 보내지 않은 증분이 남아 있을 수 있음 (sync()만 꺼냄)
+    private final Queue<Window> retired = new ConcurrentLinkedQueue<>();
+    // 이 시각 이전 window의 전역 카운터는 삭제됨 (sync()에서만 사용)
+    private long purgedBefore = Long.MIN_VALUE;
+
+    private final LongAdder syncFailures = new LongAdder();
+    private final LongAdder untrackedKeys = new LongAdder();
+
+    public ClusterRateLimiter(RateLimitBackend backend, int limit, long windowMillis, int maxKeys) {
+        this.backend = backend;
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        this.maxKeys = maxKeys;
+        this.current = new AtomicReference<>(new Window(windowStartOf(System.currentTimeMillis())));
+    }
+
+    public boolean tryAcquire(String key, long nowMillis) {
+        Map<String, Counter> counters = windowOf(nowMillis).counters;
+
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            // 추적 한도를 넘으면 이 키는 로컬 제한만 적용
+            if (counters.size() >= maxKeys) {
+                untrackedKeys.increment();
+                return true;
+            }
+            counter = counters.computeIfAbsent(key, k -> new Counter());
+        }
+        return counter.tryAcquire(limit);
+    }
+
+    public void reset(String key) {
+        Counter counter = current.get().counters.get(key);
+        if (counter != null) {
+            counter.reset();
+        }
+    }
+
+    // 로컬 증분 전송 + 전역 카운트 수신 (스케줄러 스레드에서 호출)
+    public synchronized void sync(long nowMillis) {
+        Window window = windowOf(nowMillis);
+        flushRetired(window.start);
+        purgeExpired(window.start);
+
+        Map<String, Long> deltas = new HashMap<>();
+        List<String> resets = new ArrayList<>();
+        for (Map.Entry<String, Counter> entry : window.counters.entrySet()) {
+            Counter counter = entry.getValue();
+            if (counter.resetRequested) {
+                counter.resetRequested = false;
+                resets.add(entry.getKey());
+            }
+            long delta = counter.takePending();
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+
+        try {
+            Map<String, Long> totals = backend.exchange(window.start, deltas, resets, window.counters.keySet());
+            for (Map.Entry<String, Counter> entry : window.counters.entrySet()) {
+                entry.getValue().global = totals.getOrDefault(entry.getKey(), 0L);
+            }
+        } catch (RuntimeException e) {
+            // 보내지 못한 증분은 다음 주기에 다시 전송
+            syncFailures.increment();
+            restore(window, deltas);
+            resets.forEach(key -> {
+                Counter counter = window.counters.get(key);
+                if (counter != null) {
+                    counter.resetRequested = true;
+                }
+            });
+            log.warn("클러스터 Rate Limit 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    public long millisUntilNextWindow(long nowMillis) {
+        return windowMillis - Math.floorMod(nowMillis, windowMillis);
+    }
+
+    public int size() {
+        return current.get().counters.size();
+    }
+
+    public long getSyncFailures() {
+        return syncFailures.sum();
+    }
+
+    public long getUntrackedKeys() {
+        return untrackedKeys.sum();
+    }
+
+    private long windowStartOf(long nowMillis) {
+        return nowMillis - Math.floorMod(nowMillis, windowMillis);
+    }
+
+    // 새 window가 시작되면 빈 카운터 맵으로 교체 (잠금, 원격 호출 없음) - 지난 맵은 sync()가 마저 전송
+    private Window windowOf(long nowMillis) {
+        long start = windowStartOf(nowMillis);
+        while (true) {
+            Window window = current.get();
+            if (start <= window.start) {
+                return window;
+            }
+            Window next = new Window(start);
+            if (current.compareAndSet(window, next)) {
+                retired.add(window);
+                return next;
+            }
+        }
+    }
+
+    // 지난 window의 남은 증분을 그 window의 전역 카운터로 전송 (아직 그 window에 있는 다른 노드가 볼 수 있도록)
+    // 교체 직전에 맵을 읽은 요청의 증분까지 받도록, 보낼 증분이 없는 주기를 한 번 더 거친 뒤 제거
+    private void flushRetired(long currentStart) {
+        for (Iterator<Window> iterator = retired.iterator(); iterator.hasNext(); ) {
+            Window window = iterator.next();
+            if (window.start < currentStart - windowMillis) {
+                // 이미 삭제 대상인 window
+                iterator.remove();
+                continue;
+            }
+
+            Map<String, Long> deltas = new HashMap<>();
+            window.counters.forEach((key, counter) -> {
+                long delta = counter.takePending();
+                if (delta > 0) {
+                    deltas.put(key, delta);
+                }
+            });
+            if (deltas.isEmpty()) {
+                if (window.drained) {
+                    iterator.remove();
+                }
+                window.drained = true;
+                continue;
+            }
+
+            try {
+                backend.exchange(window.start, deltas, Collections.emptyList(), Collections.emptyList());
+            } catch (RuntimeException e) {
+                syncFailures.increment();
+                restore(window, deltas);
+                log.warn("지난 window의 Rate Limit 증분 전송 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    // 직전 window는 남은 증분을 받을 수 있도록 남기고 그 이전 전역 카운터 삭제 (window마다 한 번)
+    private void purgeExpired(long currentStart) {
+        long before = currentStart - windowMillis;
+        if (before <= purgedBefore) {
+            return;
+        }
+        try {
+            backend.purgeBefore(before);
+            purgedBefore = before;
+        } catch (RuntimeException e) {
+            log.warn("지난 Rate Limit 카운터 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    private static void restore(Window window, Map<String, Long> deltas) {
+        deltas.forEach((key, delta) -> {
+            Counter counter = window.counters.get(key);
+            if (counter != null) {
+                counter.restorePending(delta);
+            }
+        });
+    }
+
+    private static final class Window {
+        private final long start;
+        private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+        // 지난 window로 전환된 뒤 보낼 증분이 없는 주기를 한 번 거쳤는지
+        private boolean drained;
+
+        private Window(long start) {
+            this.start = start;
+        }
+    }
+
+    private static final class Counter {
+        // 마지막 동기화 때 받은 전역 카운트 (이미 보낸 로컬 증분 포함)
+        private volatile long global;
+        // 아직 보내지 않은 로컬 증분
+        private final AtomicLong pending = new AtomicLong();
+        private volatile boolean resetRequested;
+
+        private boolean tryAcquire(int limit) {
+            while (true) {
+                long current = pending.get();
+                if (global + current >= limit) {
+                    return false;
+                }
+                if (pending.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void reset() {
+            pending.set(0);
+            global = 0;
+            resetRequested = true;
+        }
+
+        // 보낼 증분을 먼저 global에 더한 뒤 pending에서 뺌 - 그 사이에는 중복 집계(보수적)만 발생
+        private long takePending() {
+            long delta = pending.get();
+            if (delta > 0) {
+                global += delta;
+                pending.addAndGet(-delta);
+            }
+            return delta;
+        }
+
+        private void restorePending(long delta) {
+            pending.addAndGet(delta);
+            global -= delta;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.jwtauth.ratelimit;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// 단일 JVM 안에서 여러 노드를 흉내 내는 저장소 (테스트 및 단일 인스턴스용)
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private final ConcurrentMap<Long, ConcurrentMap<String, Long>> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, Long> exchange(long windowStart, Map<String, Long> deltas, Collection<String> resets,
+                                      Collection<String> keys) {
+        ConcurrentMap<String, Long> counters = windows.computeIfAbsent(windowStart, w -> new ConcurrentHashMap<>());
+        resets.forEach(counters::remove);
+        deltas.forEach((key, delta) -> counters.merge(key, delta, Long::sum));
+
+        Map<String, Long> totals = new HashMap<>();
+        for (String key : keys) {
+            Long total = counters.get(key);
+            if (total != null) {
+                totals.put(key, total);
+            }
+        }
+        return totals;
+    }
+
+    @Override
+    public void purgeBefore(long windowStart) {
+        windows.keySet().removeIf(window -> window < windowStart);
+    }
+}
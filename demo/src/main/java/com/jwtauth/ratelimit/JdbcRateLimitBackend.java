@@ -0,0 +1,102 @@
+package com.jwtauth.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.*;
+
+// rate_limit_counters 테이블을 공유 카운터로 사용하는 저장소 - 동기화 주기마다 배치로 반영
+@Slf4j
+public class JdbcRateLimitBackend implements RateLimitBackend {
+
+    private static final int IN_CLAUSE_CHUNK = 500;
+
+    private static final String DELETE_SQL =
+            "DELETE FROM rate_limit_counters WHERE window_start = ? AND counter_key = ?";
+    private static final String INCREMENT_SQL =
+            "UPDATE rate_limit_counters SET attempts = attempts + ? WHERE window_start = ? AND counter_key = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO rate_limit_counters (window_start, counter_key, attempts) VALUES (?, ?, ?)";
+    private static final String SELECT_SQL =
+            "SELECT counter_key, attempts FROM rate_limit_counters WHERE window_start = :windowStart AND counter_key IN (:keys)";
+    private static final String PURGE_SQL =
+            "DELETE FROM rate_limit_counters WHERE window_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public JdbcRateLimitBackend(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public Map<String, Long> exchange(long windowStart, Map<String, Long> deltas, Collection<String> resets,
+                                      Collection<String> keys) {
+        if (!resets.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, resets, resets.size(), (ps, key) -> {
+                ps.setLong(1, windowStart);
+                ps.setString(2, key);
+            });
+        }
+        if (!deltas.isEmpty()) {
+            applyDeltas(windowStart, deltas);
+        }
+        return selectTotals(windowStart, keys);
+    }
+
+    @Override
+    public void purgeBefore(long windowStart) {
+        int removed = jdbcTemplate.update(PURGE_SQL, windowStart);
+        if (removed > 0) {
+            log.debug("지난 Rate Limit 카운터 {}건 삭제", removed);
+        }
+    }
+
+    private void applyDeltas(long windowStart, Map<String, Long> deltas) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(deltas.entrySet());
+        int[][] updated = jdbcTemplate.batchUpdate(INCREMENT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setLong(2, windowStart);
+            ps.setString(3, entry.getKey());
+        });
+
+        // 이번 window에 처음 나타난 키만 개별 INSERT (다른 노드가 먼저 만들었으면 UPDATE로 재시도)
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                Map.Entry<String, Long> entry = entries.get(index++);
+                if (count == 0) {
+                    insertOrIncrement(windowStart, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private void insertOrIncrement(long windowStart, String key, long delta) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, windowStart, key, delta);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(INCREMENT_SQL, delta, windowStart, key);
+        }
+    }
+
+    private Map<String, Long> selectTotals(long windowStart, Collection<String> keys) {
+        Map<String, Long> totals = new HashMap<>();
+        List<String> keyList = new ArrayList<>(keys);
+        for (int from = 0; from < keyList.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = keyList.subList(from, Math.min(from + IN_CLAUSE_CHUNK, keyList.size()));
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("windowStart", windowStart)
+                    .addValue("keys", chunk);
+            namedParameterJdbcTemplate.query(SELECT_SQL, parameters,
+                    rs -> {
+                        totals.put(rs.getString("counter_key"), rs.getLong("attempts"));
+                    });
+        }
+        return totals;
+    }
+}
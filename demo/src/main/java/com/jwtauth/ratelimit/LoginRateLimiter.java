@@ -0,0 +1,181 @@
+package com.jwtauth.ratelimit;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 로그인 시도를 IP, 네트워크 대역(IPv4 /24, IPv6 /64), 대상 계정, 전체 예산 순으로 한 번에 평가하는 제한기.
+ * 키 변환은 스레드별 RateLimitKey를 재사용하고 결과는 enum으로 돌려주므로 로컬 판단 경로에서는 할당이 없다.
+ * 앞선 기준에서 거부되면 뒤 기준은 소비하지 않으므로, 거부된 시도가 전체 예산을 깎지 않는다.
+ */
+public class LoginRateLimiter {
+
+    private static final RateLimitDimension[] DIMENSIONS = RateLimitDimension.values();
+
+    // 기준별 제한기 (비활성화된 기준은 null)
+    private final RateLimiter[] limiters;
+    private final ClusterRateLimiter[] clusterLimiters;
+    private final int ipv4Prefix;
+    private final int ipv6Prefix;
+    private final LongAdder[] rejections = new LongAdder[DIMENSIONS.length];
+    private final ThreadLocal<Keys> keys = ThreadLocal.withInitial(Keys::new);
+
+    public LoginRateLimiter(RateLimiter[] limiters, ClusterRateLimiter[] clusterLimiters, int ipv4Prefix, int ipv6Prefix) {
+        if (limiters.length != DIMENSIONS.length || clusterLimiters.length != DIMENSIONS.length) {
+            throw new IllegalArgumentException("기준별 제한기 수가 올바르지 않습니다.");
+        }
+        if (ipv4Prefix < 0 || ipv4Prefix > 32 || ipv6Prefix < 0 || ipv6Prefix > 128) {
+            throw new IllegalArgumentException("잘못된 네트워크 대역 prefix: /" + ipv4Prefix + ", /" + ipv6Prefix);
+        }
+        this.limiters = limiters.clone();
+        this.clusterLimiters = clusterLimiters.clone();
+        this.ipv4Prefix = ipv4Prefix;
+        this.ipv6Prefix = ipv6Prefix;
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+    }
+
+    // 허용되면 null, 거부되면 한도를 넘은 기준
+    public RateLimitDimension tryAcquire(String clientIp, String username, long nowNanos, long nowMillis) {
+        Keys current = keys.get();
+        current.set(clientIp, username, ipv4Prefix, ipv6Prefix);
+
+        for (RateLimitDimension dimension : DIMENSIONS) {
+            RateLimitKey key = current.get(dimension);
+            if (key == null) {
+                continue;
+            }
+            if (!acquire(dimension, key, nowNanos, nowMillis)) {
+                rejections[dimension.ordinal()].increment();
+                return dimension;
+            }
+        }
+        return null;
+    }
+
+    public long retryAfterNanos(RateLimitDimension dimension, String clientIp, String username,
+                                long nowNanos, long nowMillis) {
+        Keys current = keys.get();
+        current.set(clientIp, username, ipv4Prefix, ipv6Prefix);
+        RateLimitKey key = current.get(dimension);
+        RateLimiter limiter = limiters[dimension.ordinal()];
+        if (key == null || limiter == null) {
+            return 0;
+        }
+
+        long retryAfter = limiter.retryAfterNanos(key.high, key.low, nowNanos);
+        ClusterRateLimiter clusterLimiter = clusterLimiters[dimension.ordinal()];
+        if (retryAfter == 0 && clusterLimiter != null) {
+            // 전역 카운터는 window 단위로 초기화됨
+            retryAfter = clusterLimiter.millisUntilNextWindow(nowMillis) * 1_000_000L;
+        }
+        return retryAfter;
+    }
+
+    // 로그인 성공 시 해당 IP와 계정의 카운트 초기화 (대역/전체 예산은 유지)
+    public void reset(String clientIp, String username) {
+        Keys current = keys.get();
+        current.set(clientIp, username, ipv4Prefix, ipv6Prefix);
+        reset(RateLimitDimension.IP, current.ip);
+        RateLimitKey usernameKey = current.get(RateLimitDimension.USERNAME);
+        if (usernameKey != null) {
+            reset(RateLimitDimension.USERNAME, usernameKey);
+        }
+    }
+
+    public boolean permits(RateLimitDimension dimension, String clientIp, String username, long nowNanos) {
+        Keys current = keys.get();
+        current.set(clientIp, username, ipv4Prefix, ipv6Prefix);
+        RateLimitKey key = current.get(dimension);
+        RateLimiter limiter = limiters[dimension.ordinal()];
+        return key == null || limiter == null || limiter.permits(key.high, key.low, nowNanos);
+    }
+
+    public RateLimiter getLimiter(RateLimitDimension dimension) {
+        return limiters[dimension.ordinal()];
+    }
+
+    public ClusterRateLimiter getClusterLimiter(RateLimitDimension dimension) {
+        return clusterLimiters[dimension.ordinal()];
+    }
+
+    public long getRejections(RateLimitDimension dimension) {
+        return rejections[dimension.ordinal()].sum();
+    }
+
+    public int purgeIdle(long nowNanos) {
+        int removed = 0;
+        for (RateLimiter limiter : limiters) {
+            if (limiter != null) {
+                removed += limiter.purgeIdle(nowNanos);
+            }
+        }
+        return removed;
+    }
+
+    public void syncCluster(long nowMillis) {
+        for (ClusterRateLimiter clusterLimiter : clusterLimiters) {
+            if (clusterLimiter != null) {
+                clusterLimiter.sync(nowMillis);
+            }
+        }
+    }
+
+    private boolean acquire(RateLimitDimension dimension, RateLimitKey key, long nowNanos, long nowMillis) {
+        RateLimiter limiter = limiters[dimension.ordinal()];
+        if (limiter == null) {
+            return true;
+        }
+        if (!limiter.tryAcquire(key.high, key.low, nowNanos)) {
+            return false;
+        }
+        ClusterRateLimiter clusterLimiter = clusterLimiters[dimension.ordinal()];
+        return clusterLimiter == null || clusterLimiter.tryAcquire(clusterKey(dimension, key), nowMillis);
+    }
+
+    private void reset(RateLimitDimension dimension, RateLimitKey key) {
+        RateLimiter limiter = limiters[dimension.ordinal()];
+        if (limiter != null) {
+            limiter.reset(key.high, key.low);
+        }
+        ClusterRateLimiter clusterLimiter = clusterLimiters[dimension.ordinal()];
+        if (clusterLimiter != null) {
+            clusterLimiter.reset(clusterKey(dimension, key));
+        }
+    }
+
+    // 클러스터 저장소용 키 (클러스터 모드에서만 생성)
+    private static String clusterKey(RateLimitDimension dimension, RateLimitKey key) {
+        return dimension.name() + ':' + Long.toHexString(key.high) + ':' + Long.toHexString(key.low);
+    }
+
+    // 스레드별 재사용 키 묶음
+    private static final class Keys {
+        private final RateLimitKey ip = new RateLimitKey();
+        private final RateLimitKey subnet = new RateLimitKey();
+        private final RateLimitKey username = new RateLimitKey();
+        private final RateLimitKey global = new RateLimitKey();
+        private boolean hasUsername;
+
+        private void set(String clientIp, String username, int ipv4Prefix, int ipv6Prefix) {
+            ip.set(clientIp);
+            subnet.high = ip.high;
+            subnet.low = ip.low;
+            subnet.maskToPrefix(ipv4Prefix, ipv6Prefix);
+
+            hasUsername = username != null && !username.isEmpty();
+            if (hasUsername) {
+                this.username.setIgnoreCase(username);
+            }
+        }
+
+        private RateLimitKey get(RateLimitDimension dimension) {
+            return switch (dimension) {
+                case IP -> ip;
+                case SUBNET -> subnet;
+                case USERNAME -> hasUsername ? username : null;
+                case GLOBAL -> global;
+            };
+        }
+    }
+}
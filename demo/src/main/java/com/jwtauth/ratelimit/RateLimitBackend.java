@@ -0,0 +1,18 @@
+package com.jwtauth.ratelimit;
+
+import java.util.Collection;
+import java.util.Map;
+
+// 여러 인스턴스가 공유하는 Rate Limit 카운터 저장소
+public interface RateLimitBackend {
+
+    /*
+     * 초기화 요청(resets)과 로컬 증분(deltas)을 반영한 뒤 keys의 전역 카운트를 반환한다.
+     * 반환 값에 없는 키의 전역 카운트는 0이다.
+     */
+    Map<String, Long> exchange(long windowStart, Map<String, Long> deltas, Collection<String> resets,
+                               Collection<String> keys);
+
+    // windowStart 이전 window의 카운터 삭제
+    void purgeBefore(long windowStart);
+}
@@ -0,0 +1,19 @@
+package com.jwtauth.ratelimit;
+
+// 로그인 제한 기준 (평가 순서와 동일)
+public enum RateLimitDimension {
+    IP("IP"),
+    SUBNET("네트워크 대역"),
+    USERNAME("계정"),
+    GLOBAL("전체 로그인");
+
+    private final String description;
+
+    RateLimitDimension(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,224 @@
+package com.jwtauth.ratelimit;
+
+/*
+ * Rate Limit 키의 128비트 이진 표현 (스레드별로 재사용하여 문자열 키 변환 시 할당 없음).
+ * IPv4는 IPv4-mapped IPv6(::ffff:a.b.c.d)와 같은 값이 되고, IP가 아닌 문자열은 128비트 해시로 대체한다.
+ * 이 값은 클러스터 카운터 키로도 쓰이므로 인스턴스와 무관하게 같아야 한다 - 테이블 위치는 RateLimiter가 비밀 키로 따로 정한다.
+ */
+final class RateLimitKey {
+
+    private static final long IPV4_MAPPED_PREFIX = 0xFFFFL << 32;
+
+    long high;
+    long low;
+
+    private final int[] groups = new int[8];
+
+    void set(String value) {
+        if (!parseIpv4(value, 0, value.length()) && !parseIpv6(value)) {
+            hash(value);
+        }
+    }
+
+    private boolean parseIpv4(String value, int from, int to) {
+        long address = 0;
+        int octets = 0;
+        int octet = -1;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet < 0 ? c - '0' : octet * 10 + (c - '0');
+                if (octet > 255) {
+                    return false;
+                }
+            } else if (c == '.' && octet >= 0 && octets < 3) {
+                address = (address << 8) | octet;
+                octets++;
+                octet = -1;
+            } else {
+                return false;
+            }
+        }
+        if (octets != 3 || octet < 0) {
+            return false;
+        }
+
+        high = 0;
+        low = IPV4_MAPPED_PREFIX | (address << 8) | octet;
+        return true;
+    }
+
+    // 축약(::), 대괄호, zone(%eth0), 끝부분 IPv4 표기 지원
+    private boolean parseIpv6(String value) {
+        int from = 0;
+        int to = value.length();
+        if (to > 1 && value.charAt(0) == '[' && value.charAt(to - 1) == ']') {
+            from++;
+            to--;
+        }
+        int zone = value.indexOf('%', from);
+        if (zone >= 0 && zone < to) {
+            to = zone;
+        }
+        if (to - from < 2) {
+            return false;
+        }
+
+        int count = 0;
+        int gap = -1;
+        int i = from;
+        if (value.charAt(i) == ':') {
+            if (value.charAt(i + 1) != ':') {
+                return false;
+            }
+            gap = 0;
+            i += 2;
+        }
+
+        while (i < to) {
+            if (count == 8) {
+                return false;
+            }
+            int start = i;
+            int group = 0;
+            while (i < to && i - start < 5) {
+                int digit = Character.digit(value.charAt(i), 16);
+                if (digit < 0) {
+                    break;
+                }
+                group = (group << 4) | digit;
+                i++;
+            }
+
+            if (i < to && value.charAt(i) == '.') {
+                // 마지막 두 그룹을 IPv4 표기로 작성한 경우
+                if (count > 6 || !parseIpv4(value, start, to)) {
+                    return false;
+                }
+                groups[count++] = (int) ((low >>> 16) & 0xFFFF);
+                groups[count++] = (int) (low & 0xFFFF);
+                break;
+            }
+            if (i == start || i - start > 4) {
+                return false;
+            }
+            groups[count++] = group;
+
+            if (i == to) {
+                break;
+            }
+            if (value.charAt(i) != ':' || ++i == to) {
+                return false;
+            }
+            if (value.charAt(i) == ':') {
+                if (gap >= 0) {
+                    return false;
+                }
+                gap = count;
+                i++;
+            }
+        }
+
+        if (gap < 0 ? count != 8 : count > 7) {
+            return false;
+        }
+
+        long h = 0;
+        long l = 0;
+        int zeros = 8 - count;
+        int position = 0;
+        for (int g = 0; g < count; g++) {
+            if (g == gap) {
+                position += zeros;
+            }
+            if (position < 4) {
+                h |= (long) groups[g] << (16 * (3 - position));
+            } else {
+                l |= (long) groups[g] << (16 * (7 - position));
+            }
+            position++;
+        }
+
+        high = h;
+        low = l;
+        return true;
+    }
+
+    // 대소문자를 구분하지 않는 문자열 키 (사용자명 등)
+    void setIgnoreCase(String value) {
+        hash(value, true);
+    }
+
+    // 주소를 prefix 비트만 남기고 자름 (IPv4는 ipv4Prefix, 그 외는 ipv6Prefix 기준)
+    void maskToPrefix(int ipv4Prefix, int ipv6Prefix) {
+        if (high == 0 && (low >>> 32) == 0xFFFFL) {
+            low &= -1L << (32 - ipv4Prefix);
+        } else if (ipv6Prefix <= 64) {
+            high &= ipv6Prefix == 0 ? 0 : -1L << (64 - ipv6Prefix);
+            low = 0;
+        } else {
+            low &= -1L << (128 - ipv6Prefix);
+        }
+    }
+
+    private void hash(String value) {
+        hash(value, false);
+    }
+
+    // FNV-1a 두 가지 시드 + murmur3 finalizer
+    private void hash(String value, boolean ignoreCase) {
+        long h1 = 0xcbf29ce484222325L;
+        long h2 = 0x84222325cbf29ce4L;
+        for (int i = 0; i < value.length(); i++) {
+            char c = ignoreCase ? Character.toLowerCase(value.charAt(i)) : value.charAt(i);
+            h1 = (h1 ^ c) * 0x100000001b3L;
+            h2 = (h2 ^ c) * 0x100000001b3L + 0x9E3779B97F4A7C15L;
+        }
+        high = mix(h1);
+        low = mix(h2);
+    }
+
+    // SipHash-2-4 (128비트 키, 16바이트 입력) - 키를 모르면 같은 위치로 모이는 입력을 미리 계산할 수 없음
+    static long sipHash(long k0, long k1, long m0, long m1) {
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+        // 메시지 두 블록, 길이 블록(16 << 56), 마무리 순서
+        for (int stage = 0; stage < 4; stage++) {
+            long m = stage == 0 ? m0 : stage == 1 ? m1 : 16L << 56;
+            int rounds = 2;
+            if (stage < 3) {
+                v3 ^= m;
+            } else {
+                v2 ^= 0xff;
+                rounds = 4;
+            }
+            for (int round = 0; round < rounds; round++) {
+                v0 += v1;
+                v1 = Long.rotateLeft(v1, 13) ^ v0;
+                v0 = Long.rotateLeft(v0, 32);
+                v2 += v3;
+                v3 = Long.rotateLeft(v3, 16) ^ v2;
+                v0 += v3;
+                v3 = Long.rotateLeft(v3, 21) ^ v0;
+                v2 += v1;
+                v1 = Long.rotateLeft(v1, 17) ^ v2;
+                v2 = Long.rotateLeft(v2, 32);
+            }
+            if (stage < 3) {
+                v0 ^= m;
+            }
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
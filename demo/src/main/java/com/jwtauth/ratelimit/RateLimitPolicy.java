@@ -0,0 +1,38 @@
+package com.jwtauth.ratelimit;
+
+/*
+ * 키 하나의 상태를 long 하나에 담는 Rate Limit 정책.
+ * 정책 객체는 상태 전이만 계산하고(부수 효과 없음), 저장소(RateLimiter)가 세그먼트 잠금 안에서 상태를 교체한다.
+ * 모든 시각은 System.nanoTime() 기준이며, 새 키의 초기 상태는 EMPTY(0)이다.
+ */
+public interface RateLimitPolicy {
+
+    long EMPTY = 0L;
+    long REJECTED = -1L;
+
+    enum Type {
+        TOKEN_BUCKET, SLIDING_WINDOW
+    }
+
+    // 1회 허용 후의 새 상태, 허용할 수 없으면 REJECTED
+    long tryAcquire(long state, long nowNanos);
+
+    // 상태 변경 없이 1회 더 허용 가능한지 확인
+    boolean permits(long state, long nowNanos);
+
+    // 다음 허용까지 남은 시간 (허용 가능하면 0)
+    long retryAfterNanos(long state, long nowNanos);
+
+    // 상태가 EMPTY와 동일하게 동작하는지 (정리 가능 여부)
+    boolean isIdle(long state, long nowNanos);
+
+    int getLimit();
+
+    static RateLimitPolicy create(Type type, int limit, long windowMillis) {
+        long windowNanos = windowMillis * 1_000_000L;
+        return switch (type) {
+            case TOKEN_BUCKET -> new TokenBucketPolicy(limit, windowNanos, System.nanoTime());
+            case SLIDING_WINDOW -> new SlidingWindowPolicy(limit, windowNanos, System.nanoTime());
+        };
+    }
+}
@@ -0,0 +1,263 @@
+package com.jwtauth.ratelimit;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 고정 용량 Rate Limiter.
+ * 키는 128비트 이진 값(IPv4/IPv6 주소 또는 문자열 해시)이고, 상태는 원시 배열에 저장하므로
+ * 서로 다른 키가 아무리 많이 들어와도 메모리 사용량은 생성 시 정한 용량을 넘지 않는다.
+ * 테이블은 8-way 집합 연관 구조이며, 버킷이 가득 차면 먼저 제한에 영향이 없는(idle) 항목을 재사용하고
+ * 없으면 CLOCK(second chance) 방식으로 최근에 쓰이지 않은 항목을 내보낸다.
+ * 상태 전이는 RateLimitPolicy가 계산하고, 슬롯 재사용 시 키와 상태가 함께 바뀌어야 하므로 세그먼트 단위로 잠근다.
+ * 버킷 위치는 인스턴스마다 SecureRandom으로 만든 키의 SipHash로 정하므로, 공격자가 특정 키(계정)와 같은 버킷에 모이는
+ * 사용자명/주소를 미리 계산해 그 항목을 밀어내고 카운트를 초기화할 수 없다.
+ */
+public class RateLimiter {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    // 항목당 high/low/state 3개 long + 플래그 1바이트
+    public static final int BYTES_PER_ENTRY = 3 * Long.BYTES + 1;
+
+    private static final int WAYS = 8;
+    private static final byte FREE = 0;
+    private static final byte OCCUPIED = 1;
+    private static final byte REFERENCED = 2;
+
+    private final RateLimitPolicy policy;
+    private final Segment[] segments;
+    private final int bucketMask;
+    private final int segmentShift;
+    private final int capacity;
+    private final LongAdder evictions = new LongAdder();
+    private final ThreadLocal<RateLimitKey> keys = ThreadLocal.withInitial(RateLimitKey::new);
+    private final long hashKey0;
+    private final long hashKey1;
+
+    public RateLimiter(RateLimitPolicy policy) {
+        this(policy, DEFAULT_CAPACITY);
+    }
+
+    public RateLimiter(RateLimitPolicy policy, int capacity) {
+        this.policy = policy;
+
+        SecureRandom secureRandom = new SecureRandom();
+        this.hashKey0 = secureRandom.nextLong();
+        this.hashKey1 = secureRandom.nextLong();
+
+        int buckets = Integer.highestOneBit(Math.max(1, capacity / WAYS));
+        int segmentCount = Math.min(256, buckets);
+        int bucketsPerSegment = buckets / segmentCount;
+
+        this.capacity = buckets * WAYS;
+        this.bucketMask = buckets - 1;
+        this.segmentShift = Integer.numberOfTrailingZeros(bucketsPerSegment);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(bucketsPerSegment);
+        }
+    }
+
+    // 메모리 상한(바이트)에 들어가는 최대 용량
+    public static int capacityForMemory(long maxBytes) {
+        long entries = Math.max(WAYS, maxBytes / BYTES_PER_ENTRY);
+        return (int) Math.min(entries, 1 << 30);
+    }
+
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    public boolean tryAcquire(String key, long nowNanos) {
+        RateLimitKey binaryKey = keys.get();
+        binaryKey.set(key);
+        return tryAcquire(binaryKey.high, binaryKey.low, nowNanos);
+    }
+
+    public boolean tryAcquire(long high, long low, long nowNanos) {
+        int bucket = bucketOf(high, low);
+        Segment segment = segments[bucket >>> segmentShift];
+        synchronized (segment) {
+            int slot = segment.findOrInsert(high, low, bucket & segment.bucketMask, nowNanos);
+            long next = policy.tryAcquire(segment.states[slot], nowNanos);
+            if (next == RateLimitPolicy.REJECTED) {
+                return false;
+            }
+            segment.states[slot] = next;
+            return true;
+        }
+    }
+
+    public boolean permits(String key, long nowNanos) {
+        RateLimitKey binaryKey = keys.get();
+        binaryKey.set(key);
+        return permits(binaryKey.high, binaryKey.low, nowNanos);
+    }
+
+    public boolean permits(long high, long low, long nowNanos) {
+        int bucket = bucketOf(high, low);
+        Segment segment = segments[bucket >>> segmentShift];
+        synchronized (segment) {
+            int slot = segment.find(high, low, bucket & segment.bucketMask);
+            return slot < 0 || policy.permits(segment.states[slot], nowNanos);
+        }
+    }
+
+    public long retryAfterNanos(String key, long nowNanos) {
+        RateLimitKey binaryKey = keys.get();
+        binaryKey.set(key);
+        return retryAfterNanos(binaryKey.high, binaryKey.low, nowNanos);
+    }
+
+    public long retryAfterNanos(long high, long low, long nowNanos) {
+        int bucket = bucketOf(high, low);
+        Segment segment = segments[bucket >>> segmentShift];
+        synchronized (segment) {
+            int slot = segment.find(high, low, bucket & segment.bucketMask);
+            return slot < 0 ? 0 : policy.retryAfterNanos(segment.states[slot], nowNanos);
+        }
+    }
+
+    public void reset(String key) {
+        RateLimitKey binaryKey = keys.get();
+        binaryKey.set(key);
+        reset(binaryKey.high, binaryKey.low);
+    }
+
+    public void reset(long high, long low) {
+        int bucket = bucketOf(high, low);
+        Segment segment = segments[bucket >>> segmentShift];
+        synchronized (segment) {
+            int slot = segment.find(high, low, bucket & segment.bucketMask);
+            if (slot >= 0) {
+                segment.free(slot);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // 제한에 영향이 있던 항목을 공간 부족으로 내보낸 횟수
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public RateLimitPolicy getPolicy() {
+        return policy;
+    }
+
+    // 더 이상 제한에 영향이 없는 항목 정리, 제거된 개수 반환
+    public int purgeIdle(long nowNanos) {
+        int removed = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                for (int slot = 0; slot < segment.flags.length; slot++) {
+                    if (segment.flags[slot] != FREE && policy.isIdle(segment.states[slot], nowNanos)) {
+                        segment.free(slot);
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    private int bucketOf(long high, long low) {
+        return (int) RateLimitKey.sipHash(hashKey0, hashKey1, high, low) & bucketMask;
+    }
+
+    private final class Segment {
+        private final int bucketMask;
+        private final long[] highs;
+        private final long[] lows;
+        private final long[] states;
+        private final byte[] flags;
+        private final byte[] hands;
+        private int size;
+
+        private Segment(int buckets) {
+            this.bucketMask = buckets - 1;
+            this.highs = new long[buckets * WAYS];
+            this.lows = new long[buckets * WAYS];
+            this.states = new long[buckets * WAYS];
+            this.flags = new byte[buckets * WAYS];
+            this.hands = new byte[buckets];
+        }
+
+        private int find(long high, long low, int bucket) {
+            int base = bucket * WAYS;
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (flags[slot] != FREE && highs[slot] == high && lows[slot] == low) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        private int findOrInsert(long high, long low, int bucket, long nowNanos) {
+            int base = bucket * WAYS;
+            int free = -1;
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (flags[slot] == FREE) {
+                    if (free < 0) {
+                        free = slot;
+                    }
+                } else if (highs[slot] == high && lows[slot] == low) {
+                    flags[slot] = REFERENCED;
+                    return slot;
+                }
+            }
+
+            if (free < 0) {
+                free = reclaim(base, bucket, nowNanos);
+            } else {
+                size++;
+            }
+
+            highs[free] = high;
+            lows[free] = low;
+            states[free] = RateLimitPolicy.EMPTY;
+            // 새 항목은 참조 비트 없이 시작 - 한 번만 나타난 주소(분산 공격)가 먼저 교체됨
+            flags[free] = OCCUPIED;
+            return free;
+        }
+
+        // 버킷이 가득 찬 경우 - idle 항목 우선, 없으면 CLOCK
+        private int reclaim(int base, int bucket, long nowNanos) {
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (policy.isIdle(states[slot], nowNanos)) {
+                    return slot;
+                }
+            }
+
+            int hand = hands[bucket];
+            while (true) {
+                int slot = base + hand;
+                hand = (hand + 1) & (WAYS - 1);
+                if (flags[slot] == REFERENCED) {
+                    flags[slot] = OCCUPIED;
+                    continue;
+                }
+                hands[bucket] = (byte) hand;
+                evictions.increment();
+                return slot;
+            }
+        }
+
+        private void free(int slot) {
+            flags[slot] = FREE;
+            states[slot] = RateLimitPolicy.EMPTY;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.jwtauth.ratelimit;
+
+/*
+ * 슬라이딩 윈도우 카운터 (이전 window 카운트를 경과 비율만큼 가중).
+ * 상태 비트 구성: [window 번호 하위 23비트][이전 window 카운트 20비트][현재 window 카운트 20비트]
+ * 한 window 안에서 허용 횟수는 limit을 넘지 않는다.
+ */
+public final class SlidingWindowPolicy implements RateLimitPolicy {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long WINDOW_MASK = (1L << 23) - 1;
+
+    private final int limit;
+    private final long windowNanos;
+    private final long origin;
+
+    public SlidingWindowPolicy(int limit, long windowNanos, long origin) {
+        if (limit < 1 || limit >= COUNT_MASK || windowNanos < 1) {
+            throw new IllegalArgumentException("잘못된 슬라이딩 윈도우 설정: limit=" + limit + ", window=" + windowNanos + "ns");
+        }
+        this.limit = limit;
+        this.windowNanos = windowNanos;
+        // window 번호 0이 현재보다 충분히 과거가 되도록 기준점을 두 window 앞당김 (EMPTY는 빈 카운터)
+        this.origin = origin - 2 * windowNanos;
+    }
+
+    @Override
+    public long tryAcquire(long state, long nowNanos) {
+        long elapsed = nowNanos - origin;
+        long window = elapsed / windowNanos;
+        long rolled = roll(state, window);
+
+        long previous = (rolled >>> COUNT_BITS) & COUNT_MASK;
+        long current = rolled & COUNT_MASK;
+        if (!admits(previous, current, elapsed - window * windowNanos)) {
+            return REJECTED;
+        }
+        return pack(window, previous, current + 1);
+    }
+
+    @Override
+    public boolean permits(long state, long nowNanos) {
+        long elapsed = nowNanos - origin;
+        long window = elapsed / windowNanos;
+        long rolled = roll(state, window);
+        return admits((rolled >>> COUNT_BITS) & COUNT_MASK, rolled & COUNT_MASK, elapsed - window * windowNanos);
+    }
+
+    @Override
+    public long retryAfterNanos(long state, long nowNanos) {
+        long elapsed = nowNanos - origin;
+        long window = elapsed / windowNanos;
+        long rolled = roll(state, window);
+        long previous = (rolled >>> COUNT_BITS) & COUNT_MASK;
+        long current = rolled & COUNT_MASK;
+        long intoWindow = elapsed - window * windowNanos;
+        if (admits(previous, current, intoWindow)) {
+            return 0;
+        }
+
+        // 현재 window 안에서 이전 카운트 가중치가 충분히 줄어드는 시점
+        if (current + 1 <= limit && previous > 0) {
+            double allowedPrevious = limit - current - 1;
+            long needed = (long) Math.ceil(windowNanos * (1 - allowedPrevious / previous));
+            return Math.max(1, needed - intoWindow);
+        }
+
+        // 다음 window에서는 현재 카운트가 이전 카운트가 됨
+        long untilNextWindow = windowNanos - intoWindow;
+        double allowedNext = limit - 1;
+        long neededNext = current > 0 ? (long) Math.ceil(windowNanos * Math.max(0, 1 - allowedNext / current)) : 0;
+        return untilNextWindow + neededNext;
+    }
+
+    @Override
+    public boolean isIdle(long state, long nowNanos) {
+        long window = (nowNanos - origin) / windowNanos;
+        long stateWindow = state >>> (2 * COUNT_BITS);
+        // 두 window 이상 지난 카운터는 더 이상 영향이 없음
+        return state == EMPTY
+                || (stateWindow != (window & WINDOW_MASK) && stateWindow != ((window - 1) & WINDOW_MASK));
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    private boolean admits(long previous, long current, long intoWindow) {
+        if (current + 1 > limit) {
+            return false;
+        }
+        double weightedPrevious = previous * (double) (windowNanos - intoWindow) / windowNanos;
+        return weightedPrevious + current + 1 <= limit;
+    }
+
+    // 현재 window 기준으로 카운터 이동
+    private static long roll(long state, long window) {
+        long stateWindow = state >>> (2 * COUNT_BITS);
+        if (stateWindow == (window & WINDOW_MASK)) {
+            return state;
+        }
+        if (stateWindow == ((window - 1) & WINDOW_MASK)) {
+            return pack(window, state & COUNT_MASK, 0);
+        }
+        return pack(window, 0, 0);
+    }
+
+    private static long pack(long window, long previous, long current) {
+        return (window & WINDOW_MASK) << (2 * COUNT_BITS)
+                | Math.min(previous, COUNT_MASK) << COUNT_BITS
+                | Math.min(current, COUNT_MASK);
+    }
+}
@@ -0,0 +1,55 @@
+package com.jwtauth.ratelimit;
+
+/*
+ * 토큰 버킷 (GCRA 방식).
+ * 상태는 "이론적 도착 시각(TAT)" 하나이며 origin 기준 나노초로 저장한다.
+ * 용량 limit, window마다 limit개가 다시 채워지는 버킷과 동일하게 동작한다.
+ */
+public final class TokenBucketPolicy implements RateLimitPolicy {
+
+    private final int limit;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final long origin;
+
+    public TokenBucketPolicy(int limit, long windowNanos, long origin) {
+        if (limit < 1 || windowNanos < limit) {
+            throw new IllegalArgumentException("잘못된 토큰 버킷 설정: limit=" + limit + ", window=" + windowNanos + "ns");
+        }
+        this.limit = limit;
+        this.emissionIntervalNanos = windowNanos / limit;
+        // 정수 나눗셈 오차로 limit을 넘지 않도록 window 대신 limit * 간격을 버스트 허용치로 사용
+        this.burstNanos = emissionIntervalNanos * limit;
+        // EMPTY(0)가 가득 찬 버킷이 되도록 버스트 허용치만큼 이전을 기준점으로 사용
+        this.origin = origin - burstNanos;
+    }
+
+    @Override
+    public long tryAcquire(long state, long nowNanos) {
+        long now = nowNanos - origin;
+        long nextTat = Math.max(state, now) + emissionIntervalNanos;
+        return nextTat - now <= burstNanos ? nextTat : REJECTED;
+    }
+
+    @Override
+    public boolean permits(long state, long nowNanos) {
+        long now = nowNanos - origin;
+        return Math.max(state, now) + emissionIntervalNanos - now <= burstNanos;
+    }
+
+    @Override
+    public long retryAfterNanos(long state, long nowNanos) {
+        long now = nowNanos - origin;
+        return Math.max(0, Math.max(state, now) + emissionIntervalNanos - now - burstNanos);
+    }
+
+    @Override
+    public boolean isIdle(long state, long nowNanos) {
+        return state <= nowNanos - origin;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -1,22 +1,44 @@
 package com.jwtauth.repository;
 
+import com.jwtauth.dto.response.LoginActivityCount;
+import com.jwtauth.dto.response.LoginHistoryResponse;
 import com.jwtauth.entity.LoginAttempt;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, Long> {
 
+    // 스트리밍 조회의 JDBC fetch size (MySQL은 URL의 useCursorFetch=true가 있어야 서버 커서로 나눠 읽음)
+    String STREAM_FETCH_SIZE = "500";
+
     @Query("SELECT la FROM LoginAttempt la WHERE la.ipAddress = :ipAddress AND la.attemptTime > :since")
     List<LoginAttempt> findRecentAttemptsByIp(@Param("ipAddress") String ipAddress, @Param("since") LocalDateTime since);
 
-    @Query("SELECT la FROM LoginAttempt la WHERE la.username = :username ORDER BY la.attemptTime DESC")
-    List<LoginAttempt> findByUsernameOrderByAttemptTimeDesc(@Param("username") String username);
+    // (username, attempt_time) 인덱스 범위 스캔 - 최신순 첫 페이지
+    @Query("SELECT new com.jwtauth.dto.response.LoginHistoryResponse(la.id, la.username, la.ipAddress, la.userAgent, "
+            + "la.success, la.failureReason, la.attemptTime) FROM LoginAttempt la "
+            + "WHERE la.username = :username ORDER BY la.attemptTime DESC, la.id DESC")
+    List<LoginHistoryResponse> findHistoryByUsername(@Param("username") String username, Limit limit);
+
+    // 커서 (attemptTime, id) 이후 페이지 - 같은 시각의 기록은 id로 구분
+    @Query("SELECT new com.jwtauth.dto.response.LoginHistoryResponse(la.id, la.username, la.ipAddress, la.userAgent, "
+            + "la.success, la.failureReason, la.attemptTime) FROM LoginAttempt la "
+            + "WHERE la.username = :username AND (la.attemptTime < :attemptTime "
+            + "OR (la.attemptTime = :attemptTime AND la.id < :id)) ORDER BY la.attemptTime DESC, la.id DESC")
+    List<LoginHistoryResponse> findHistoryByUsernameBefore(@Param("username") String username,
+                                                           @Param("attemptTime") LocalDateTime attemptTime,
+                                                           @Param("id") Long id, Limit limit);
 
     @Query("SELECT COUNT(la) FROM LoginAttempt la WHERE la.ipAddress = :ipAddress AND la.success = false AND la.attemptTime > :since")
     long countFailedAttemptsByIpSince(@Param("ipAddress") String ipAddress, @Param("since") LocalDateTime since);
@@ -26,4 +48,40 @@ public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, Long
 
     @Query("SELECT la FROM LoginAttempt la WHERE la.success = false AND la.attemptTime BETWEEN :start AND :end")
     List<LoginAttempt> findFailedAttemptsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // 아직 집계되지 않은 최근 구간용 (attempt_time 인덱스 범위)
+    @Query("SELECT new com.jwtauth.dto.response.LoginActivityCount('ALL', "
+            + "SUM(CASE WHEN la.success = true THEN 1L ELSE 0L END), SUM(CASE WHEN la.success = true THEN 0L ELSE 1L END)) "
+            + "FROM LoginAttempt la WHERE la.attemptTime >= :from AND la.attemptTime < :to")
+    LoginActivityCount sumBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.jwtauth.dto.response.LoginActivityCount(la.ipAddress, "
+            + "SUM(CASE WHEN la.success = true THEN 1L ELSE 0L END), SUM(CASE WHEN la.success = true THEN 0L ELSE 1L END)) "
+            + "FROM LoginAttempt la WHERE la.attemptTime >= :from AND la.attemptTime < :to GROUP BY la.ipAddress "
+            + "HAVING SUM(CASE WHEN la.success = true THEN 0L ELSE 1L END) > 0 "
+            + "ORDER BY SUM(CASE WHEN la.success = true THEN 0L ELSE 1L END) DESC")
+    List<LoginActivityCount> findTopFailedIpsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                     Limit limit);
+
+    @Query("SELECT new com.jwtauth.dto.response.LoginActivityCount(la.username, "
+            + "SUM(CASE WHEN la.success = true THEN 1L ELSE 0L END), SUM(CASE WHEN la.success = true THEN 0L ELSE 1L END)) "
+            + "FROM LoginAttempt la WHERE la.username IS NOT NULL AND la.attemptTime >= :from AND la.attemptTime < :to "
+            + "GROUP BY la.username HAVING SUM(CASE WHEN la.success = true THEN 0L ELSE 1L END) > 0 "
+            + "ORDER BY SUM(CASE WHEN la.success = true THEN 0L ELSE 1L END) DESC")
+    List<LoginActivityCount> findTopFailedUsernamesBetween(@Param("from") LocalDateTime from,
+                                                           @Param("to") LocalDateTime to, Limit limit);
+
+    // 내보내기용 스트리밍 조회 - 호출 측 트랜잭션 안에서 소비하고 닫아야 함
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT new com.jwtauth.dto.response.LoginHistoryResponse(la.id, la.username, la.ipAddress, la.userAgent, "
+            + "la.success, la.failureReason, la.attemptTime) FROM LoginAttempt la "
+            + "WHERE la.success = false AND la.attemptTime BETWEEN :start AND :end ORDER BY la.attemptTime, la.id")
+    Stream<LoginHistoryResponse> streamFailedAttemptsBetween(@Param("start") LocalDateTime start,
+                                                             @Param("end") LocalDateTime end);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT new com.jwtauth.dto.response.LoginHistoryResponse(la.id, la.username, la.ipAddress, la.userAgent, "
+            + "la.success, la.failureReason, la.attemptTime) FROM LoginAttempt la "
+            + "WHERE la.username = :username ORDER BY la.attemptTime DESC, la.id DESC")
+    Stream<LoginHistoryResponse> streamHistoryByUsername(@Param("username") String username);
 }
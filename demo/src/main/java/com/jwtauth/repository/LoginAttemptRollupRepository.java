@@ -0,0 +1,29 @@
+package com.jwtauth.repository;
+
+import com.jwtauth.dto.response.LoginActivityCount;
+import com.jwtauth.entity.LoginAttemptRollup;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LoginAttemptRollupRepository extends JpaRepository<LoginAttemptRollup, LoginAttemptRollup.RollupId> {
+
+    // 모든 시도에는 IP가 있으므로 IP 집계의 합이 전체 합
+    @Query("SELECT new com.jwtauth.dto.response.LoginActivityCount('ALL', SUM(r.successCount), SUM(r.failureCount)) "
+            + "FROM LoginAttemptRollup r WHERE r.dimension = com.jwtauth.entity.LoginAttemptRollup.Dimension.IP "
+            + "AND r.bucketStart >= :from AND r.bucketStart < :to")
+    LoginActivityCount sumBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.jwtauth.dto.response.LoginActivityCount(r.dimensionValue, SUM(r.successCount), SUM(r.failureCount)) "
+            + "FROM LoginAttemptRollup r WHERE r.dimension = :dimension AND r.bucketStart >= :from AND r.bucketStart < :to "
+            + "GROUP BY r.dimensionValue HAVING SUM(r.failureCount) > 0 ORDER BY SUM(r.failureCount) DESC")
+    List<LoginActivityCount> findTopFailedBetween(@Param("dimension") LoginAttemptRollup.Dimension dimension,
+                                                  @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                  Limit limit);
+}
@@ -6,8 +6,10 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +22,11 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
     List<RefreshToken> findByUsernameAndRevokedFalse(String username);
 
+    // 토큰 조회(introspection)는 서명 검증을 트랜잭션 밖에서 하고 이 조회만 트랜잭션으로 실행
+    @Transactional(readOnly = true)
+    @Query("SELECT rt.token FROM RefreshToken rt WHERE rt.token IN :tokens AND rt.revoked = false AND rt.expiryDate > :now")
+    List<String> findActiveTokenValues(@Param("tokens") Collection<String> tokens, @Param("now") LocalDateTime now);
+
     @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.username = :username AND rt.revoked = false AND rt.expiryDate > :now")
     long countActiveTokensByUsername(@Param("username") String username, @Param("now") LocalDateTime now);
 
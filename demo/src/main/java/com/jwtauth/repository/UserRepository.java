@@ -1,12 +1,16 @@
 package com.jwtauth.repository;
 
+import com.jwtauth.dto.response.UserResponse;
 import com.jwtauth.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String>, JpaSpecificationExecutor<User> {
@@ -22,6 +27,8 @@ public interface UserRepository extends JpaRepository<User, String>, JpaSpecific
 
     Optional<User> findByEmail(String email);
 
+    // 로그인 1단계 조회 - 짧은 읽기 전용 트랜잭션
+    @Transactional(readOnly = true)
     @Query("SELECT u FROM User u WHERE u.username = :usernameOrEmail OR u.email = :usernameOrEmail")
     Optional<User> findByUsernameOrEmail(@Param("usernameOrEmail") String username, @Param("usernameOrEmail") String email);
 
@@ -53,13 +60,32 @@ public interface UserRepository extends JpaRepository<User, String>, JpaSpecific
     @Query("SELECT u FROM User u WHERE u.lastLoginAt < :threshold OR u.lastLoginAt IS NULL")
     List<User> findInactiveUsers(@Param("threshold") LocalDateTime threshold);
 
+    // 내보내기용 스트리밍 조회 - 엔티티 대신 DTO로 읽어 영속성 컨텍스트가 커지지 않음
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = LoginAttemptRepository.STREAM_FETCH_SIZE))
+    @Query("SELECT new com.jwtauth.dto.response.UserResponse(u.username, u.email, u.role, u.enabled, u.accountNonExpired, "
+            + "u.accountNonLocked, u.credentialsNonExpired, u.lastLoginAt, u.createdAt, u.updatedAt) FROM User u "
+            + "WHERE u.lastLoginAt < :threshold OR u.lastLoginAt IS NULL ORDER BY u.username")
+    Stream<UserResponse> streamInactiveUsers(@Param("threshold") LocalDateTime threshold);
+
+    @Query("SELECT u.username FROM User u WHERE u.enabled = true AND (u.lastLoginAt < :threshold OR u.lastLoginAt IS NULL)")
+    List<String> findInactiveEnabledUsernames(@Param("threshold") LocalDateTime threshold);
+
+    // 조회 이후 로그인한 사용자는 제외하도록 조건을 다시 확인
     @Modifying
     @Transactional
-    @Query("UPDATE User u SET u.enabled = false WHERE u.lastLoginAt < :threshold OR u.lastLoginAt IS NULL")
-    int disableInactiveUsers(@Param("threshold") LocalDateTime threshold);
+    @Query("UPDATE User u SET u.enabled = false WHERE u.username IN :usernames "
+            + "AND (u.lastLoginAt < :threshold OR u.lastLoginAt IS NULL)")
+    int disableInactiveUsers(@Param("usernames") List<String> usernames, @Param("threshold") LocalDateTime threshold);
 
     @Modifying
     @Transactional
     @Query("UPDATE User u SET u.lastLoginAt = :loginTime WHERE u.username = :username")
     void updateLastLoginTime(@Param("username") String username, @Param("loginTime") LocalDateTime loginTime);
+
+    // 저장된 해시가 그대로일 때만 교체 (동시에 변경된 비밀번호를 덮어쓰지 않음)
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.username = :username AND u.password = :currentPassword")
+    int replacePasswordHash(@Param("username") String username, @Param("currentPassword") String currentPassword,
+                            @Param("newPassword") String newPassword);
 }
@@ -0,0 +1,174 @@
+package com.jwtauth.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 로그아웃된 Access Token의 jti 거부 목록.
+ * 블룸 필터가 "폐기되지 않음"(대부분의 요청)을 해시 몇 번으로 판정하고, 필터에 걸린 경우에만 정확한 집합을 확인한다.
+ * 항목은 토큰 만료 분(minute) 단위 버킷에 저장되어, 만료된 버킷은 통째로 삭제되므로
+ * 메모리는 Access Token 수명 동안 폐기된 토큰 수에 비례한다.
+ * 목록은 인스턴스별 메모리에만 있고 다른 인스턴스로 전파되지 않는다. 여러 인스턴스를 운영하면 로그아웃한 인스턴스에서만
+ * 즉시 거부되고 나머지에서는 만료(exp)까지 유효하므로, 단일 인스턴스나 세션 고정(sticky) 라우팅에서만 즉시 폐기가 보장된다.
+ */
+@Slf4j
+@Component
+public class AccessTokenDenylist {
+
+    private static final long BUCKET_MILLIS = 60000;
+
+    // 만료 분 -> 해당 분에 만료되는 폐기 jti
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+    private final int bloomBits;
+    private final int hashCount;
+    private volatile BloomFilter bloomFilter;
+
+    private final LongAdder bloomHits = new LongAdder();
+    private final LongAdder revokedHits = new LongAdder();
+
+    public AccessTokenDenylist(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        JwtProperties.Denylist config = jwtProperties.getDenylist();
+        long expected = Math.max(1, config.getExpectedRevocations());
+        double fpp = config.getFalsePositiveRate();
+
+        // 최적 크기: m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long bits = (long) Math.ceil(-expected * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bloomBits = (int) Math.min(Math.max(bits, 64), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round((double) bloomBits / expected * Math.log(2)));
+        this.bloomFilter = new BloomFilter(bloomBits, hashCount);
+
+        Gauge.builder("jwt.token.denylist.size", this, AccessTokenDenylist::size).register(meterRegistry);
+        FunctionCounter.builder("jwt.token.denylist.bloom.hits", bloomHits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("jwt.token.denylist.revoked.hits", revokedHits, LongAdder::sum).register(meterRegistry);
+    }
+
+    // 만료 전까지 해당 토큰을 거부
+    public void revoke(VerifiedToken verifiedToken) {
+        String jwtId = verifiedToken.getJwtId();
+        if (jwtId == null || verifiedToken.isExpired(System.currentTimeMillis())) {
+            return;
+        }
+
+        // 정확한 집합에 먼저 기록한 뒤 블룸 필터에 추가 (재구성 중 누락 방지)
+        buckets.computeIfAbsent(bucketOf(verifiedToken), minute -> ConcurrentHashMap.newKeySet()).add(jwtId);
+        bloomFilter.add(jwtId);
+        log.debug("Access Token 폐기: jti={}, 사용자={}", jwtId, verifiedToken.getSubject());
+    }
+
+    public boolean isRevoked(VerifiedToken verifiedToken) {
+        String jwtId = verifiedToken.getJwtId();
+        if (jwtId == null || !bloomFilter.mightContain(jwtId)) {
+            return false;
+        }
+
+        bloomHits.increment();
+        Set<String> bucket = buckets.get(bucketOf(verifiedToken));
+        boolean revoked = bucket != null && bucket.contains(jwtId);
+        if (revoked) {
+            revokedHits.increment();
+        }
+        return revoked;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Set<String> bucket : buckets.values()) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    // 만료된 버킷을 삭제하고 남은 jti로 블룸 필터 재구성
+    @Scheduled(fixedRate = 60000)
+    public void purgeExpired() {
+        long currentBucket = System.currentTimeMillis() / BUCKET_MILLIS;
+        if (!buckets.keySet().removeIf(minute -> minute < currentBucket)) {
+            return;
+        }
+
+        BloomFilter rebuilt = new BloomFilter(bloomBits, hashCount);
+        addAll(rebuilt);
+        bloomFilter = rebuilt;
+        // 교체 직전 이전 필터에만 추가된 jti 반영
+        addAll(rebuilt);
+    }
+
+    private void addAll(BloomFilter target) {
+        for (Set<String> bucket : buckets.values()) {
+            for (String jwtId : bucket) {
+                target.add(jwtId);
+            }
+        }
+    }
+
+    // exp가 속한 분보다 한 칸 뒤 버킷 - 만료 직후까지 유지
+    private static long bucketOf(VerifiedToken verifiedToken) {
+        return verifiedToken.getExpirationMillis() / BUCKET_MILLIS + 1;
+    }
+
+    // 락 없는 블룸 필터 (double hashing)
+    private static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final int bits;
+        private final int hashCount;
+
+        private BloomFilter(int bits, int hashCount) {
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+            this.bits = bits;
+            this.hashCount = hashCount;
+        }
+
+        private void add(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+                int index = bit >>> 6;
+                long mask = 1L << bit;
+                long word = words.get(index);
+                while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                    word = words.get(index);
+                }
+            }
+        }
+
+        private boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a 64 + murmur3 finalizer
+        private static long hash64(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.jwtauth.security;
+
+import com.jwtauth.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+ * 최근 실패한 (계정, 비밀번호) 조합의 단기 캐시.
+ * 키는 프로세스마다 새로 만든 비밀 키로 계산한 HMAC-SHA256(계정, 비밀번호, 저장된 해시)의 128비트이므로
+ * 메모리에 비밀번호나 그 무키 해시가 남지 않고, 비밀번호가 어떤 경로로든 바뀌면 기존 항목은 더 이상 일치하지 않는다.
+ * 고정 크기 직접 사상 배열이라 메모리는 capacity로 제한되며, 충돌 시 나중 항목이 덮어쓴다.
+ * 일치하면 BCrypt 없이 같은 실패를 돌려주므로, 새로운 비밀번호 추측은 항상 실제 검증을 거친다.
+ */
+@Component
+public class FailedCredentialCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int mask;
+    private final AtomicReferenceArray<Entry> entries;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Counter hits;
+
+    public FailedCredentialCache(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        PasswordHashingProperties.FailureCache failureCache = properties.getFailureCache();
+        int capacity = Integer.highestOneBit(Math.max(1, failureCache.getCapacity()));
+
+        this.enabled = failureCache.isEnabled();
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(failureCache.getTtl());
+        this.mask = capacity - 1;
+        this.entries = new AtomicReferenceArray<>(capacity);
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.hits = Counter.builder("password.failure.cache.hits").register(meterRegistry);
+    }
+
+    public boolean isRecentFailure(String username, String rawPassword, String encodedPassword) {
+        if (!enabled) {
+            return false;
+        }
+        ByteBuffer digest = digest(username, rawPassword, encodedPassword);
+        long high = digest.getLong(0);
+        long low = digest.getLong(8);
+
+        Entry entry = entries.get((int) low & mask);
+        if (entry != null && entry.high == high && entry.low == low && System.nanoTime() - entry.expiresAt < 0) {
+            hits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public void recordFailure(String username, String rawPassword, String encodedPassword) {
+        if (!enabled) {
+            return;
+        }
+        ByteBuffer digest = digest(username, rawPassword, encodedPassword);
+        long low = digest.getLong(8);
+        entries.set((int) low & mask,
+                new Entry(digest.getLong(0), low, username.hashCode(), System.nanoTime() + ttlNanos));
+    }
+
+    // 해당 계정의 항목 제거 (비밀번호 변경 시)
+    public void invalidate(String username) {
+        int usernameHash = username.hashCode();
+        for (int i = 0; i <= mask; i++) {
+            Entry entry = entries.get(i);
+            if (entry != null && entry.usernameHash == usernameHash) {
+                entries.compareAndSet(i, entry, null);
+            }
+        }
+    }
+
+    private ByteBuffer digest(String username, String rawPassword, String encodedPassword) {
+        Mac mac = macs.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(rawPassword.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(mac.doFinal());
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 초기화에 실패했습니다: " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    private record Entry(long high, long low, int usernameHash, long expiresAt) {
+    }
+}
@@ -0,0 +1,243 @@
+package com.jwtauth.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/*
+ * HMAC 토큰 전용 발급기.
+ * jjwt 빌더와 동일한 헤더/클레임 순서(jti, sub, iat, exp, iss, tokenType, role)로 직렬화하되,
+ * 인코딩된 헤더와 고정 클레임 조각은 미리 계산해 두고 스레드별 Mac, DRBG, 버퍼를 재사용한다.
+ * jti는 UUID.randomUUID()의 공유 SecureRandom 대신 스레드별 DRBG로 만든 UUID v4 형식 문자열이다.
+ */
+final class FastPathTokenMinter {
+
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] JTI_PREFIX = ascii("{\"jti\":\"");
+    private static final byte[] SUB_PREFIX = ascii("\",\"sub\":\"");
+    private static final byte[] IAT_PREFIX = ascii("\",\"iat\":");
+    private static final byte[] EXP_PREFIX = ascii(",\"exp\":");
+    private static final byte[] TOKEN_TYPE_PREFIX = ascii("\",\"tokenType\":\"");
+    private static final byte[] ROLE_PREFIX = ascii("\",\"role\":\"");
+    private static final byte[] OBJECT_END = ascii("\"}");
+    private static final byte[][] TOKEN_TYPES = Arrays.stream(JwtTokenUtil.TokenType.values())
+            .map(tokenType -> ascii(tokenType.name()))
+            .toArray(byte[][]::new);
+
+    private final SecretKey secretKey;
+    private final String macAlgorithm;
+    private final byte[] headerSegment;
+    private final byte[] issuerFragment;
+    private final ThreadLocal<Context> contexts;
+
+    FastPathTokenMinter(SecretKey secretKey, String issuer) {
+        this.secretKey = secretKey;
+        this.macAlgorithm = SignatureAlgorithm.forSigningKey(secretKey).getJcaName();
+        this.headerSegment = ascii(FastPathTokenVerifier.headerSegmentFor(secretKey));
+
+        Context probe = new Context(null, null);
+        probe.write(ascii(",\"iss\":\""));
+        probe.writeEscaped(issuer);
+        this.issuerFragment = Arrays.copyOf(probe.json, probe.jsonLength);
+
+        this.contexts = ThreadLocal.withInitial(this::newContext);
+    }
+
+    String mint(String subject, String role, JwtTokenUtil.TokenType tokenType, long nowMillis, long ttlMillis) {
+        Context context = contexts.get();
+        context.jsonLength = 0;
+
+        context.write(JTI_PREFIX);
+        context.writeUuid();
+        context.write(SUB_PREFIX);
+        context.writeEscaped(subject);
+        context.write(IAT_PREFIX);
+        context.writeLong(nowMillis / 1000);
+        context.write(EXP_PREFIX);
+        context.writeLong((nowMillis + ttlMillis) / 1000);
+        context.write(issuerFragment);
+        context.write(TOKEN_TYPE_PREFIX);
+        context.write(TOKEN_TYPES[tokenType.ordinal()]);
+        if (role != null) {
+            context.write(ROLE_PREFIX);
+            context.writeEscaped(role);
+        }
+        context.write(OBJECT_END);
+
+        return context.encodeAndSign(headerSegment);
+    }
+
+    private Context newContext() {
+        try {
+            Mac mac = Mac.getInstance(macAlgorithm);
+            mac.init(secretKey);
+            // 스레드별 독립 DRBG - 공유 NativePRNG 잠금 경합 없음
+            return new Context(mac, SecureRandom.getInstance("DRBG"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DRBG 또는 HMAC 알고리즘을 사용할 수 없습니다.", e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 초기화에 실패했습니다: " + macAlgorithm, e);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // 스레드별 재사용 상태
+    private static final class Context {
+        private final Mac mac;
+        private final SecureRandom random;
+        private final byte[] uuid = new byte[16];
+        private final byte[] signature;
+        private byte[] json = new byte[256];
+        private int jsonLength;
+        private byte[] token = new byte[512];
+
+        private Context(Mac mac, SecureRandom random) {
+            this.mac = mac;
+            this.random = random;
+            this.signature = mac != null ? new byte[mac.getMacLength()] : null;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (jsonLength + additional > json.length) {
+                json = Arrays.copyOf(json, Math.max(json.length * 2, jsonLength + additional));
+            }
+        }
+
+        private void write(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, json, jsonLength, bytes.length);
+            jsonLength += bytes.length;
+        }
+
+        private void writeByte(int b) {
+            ensureCapacity(1);
+            json[jsonLength++] = (byte) b;
+        }
+
+        // 음수가 아닌 epoch 초 값 기록
+        private void writeLong(long value) {
+            int digits = 1;
+            for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+                digits++;
+            }
+            ensureCapacity(digits);
+            for (int i = jsonLength + digits - 1; i >= jsonLength; i--) {
+                json[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            jsonLength += digits;
+        }
+
+        // 따옴표, 역슬래시, 제어 문자만 이스케이프하고 비 ASCII는 UTF-8 그대로 기록
+        private void writeEscaped(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) >= 0x80) {
+                    writeEscapedBytes(value.getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+            }
+            for (int i = 0; i < value.length(); i++) {
+                writeEscapedByte(value.charAt(i));
+            }
+        }
+
+        private void writeEscapedBytes(byte[] bytes) {
+            for (byte b : bytes) {
+                writeEscapedByte(b & 0xFF);
+            }
+        }
+
+        private void writeEscapedByte(int b) {
+            if (b == '"' || b == '\\') {
+                writeByte('\\');
+                writeByte(b);
+            } else if (b < 0x20) {
+                writeByte('\\');
+                writeByte('u');
+                writeByte('0');
+                writeByte('0');
+                writeByte(HEX[b >> 4]);
+                writeByte(HEX[b & 0x0F]);
+            } else {
+                writeByte(b);
+            }
+        }
+
+        // UUID v4 형식 (8-4-4-4-12)
+        private void writeUuid() {
+            random.nextBytes(uuid);
+            uuid[6] = (byte) ((uuid[6] & 0x0F) | 0x40);
+            uuid[8] = (byte) ((uuid[8] & 0x3F) | 0x80);
+
+            ensureCapacity(36);
+            for (int i = 0; i < 16; i++) {
+                if (i == 4 || i == 6 || i == 8 || i == 10) {
+                    json[jsonLength++] = '-';
+                }
+                json[jsonLength++] = HEX[(uuid[i] >> 4) & 0x0F];
+                json[jsonLength++] = HEX[uuid[i] & 0x0F];
+            }
+        }
+
+        // header.base64url(payload).base64url(signature) 조립
+        private String encodeAndSign(byte[] headerSegment) {
+            int payloadChars = (jsonLength * 4 + 2) / 3;
+            int signatureChars = (signature.length * 4 + 2) / 3;
+            int required = headerSegment.length + 1 + payloadChars + 1 + signatureChars;
+            if (token.length < required) {
+                token = new byte[Math.max(required, token.length * 2)];
+            }
+
+            System.arraycopy(headerSegment, 0, token, 0, headerSegment.length);
+            int position = headerSegment.length;
+            token[position++] = '.';
+            position = encodeBase64Url(json, jsonLength, token, position);
+
+            try {
+                mac.update(token, 0, position);
+                mac.doFinal(signature, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("토큰 서명에 실패했습니다.", e);
+            }
+
+            token[position++] = '.';
+            position = encodeBase64Url(signature, signature.length, token, position);
+            return new String(token, 0, position, StandardCharsets.ISO_8859_1);
+        }
+
+        private static int encodeBase64Url(byte[] source, int length, byte[] dest, int position) {
+            int i = 0;
+            for (; i + 2 < length; i += 3) {
+                int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8 | (source[i + 2] & 0xFF);
+                dest[position++] = BASE64URL[(bits >>> 18) & 0x3F];
+                dest[position++] = BASE64URL[(bits >>> 12) & 0x3F];
+                dest[position++] = BASE64URL[(bits >>> 6) & 0x3F];
+                dest[position++] = BASE64URL[bits & 0x3F];
+            }
+            int remaining = length - i;
+            if (remaining == 1) {
+                int bits = (source[i] & 0xFF) << 16;
+                dest[position++] = BASE64URL[(bits >>> 18) & 0x3F];
+                dest[position++] = BASE64URL[(bits >>> 12) & 0x3F];
+            } else if (remaining == 2) {
+                int bits = (source[i] & 0xFF) << 16 | (source[i + 1] & 0xFF) << 8;
+                dest[position++] = BASE64URL[(bits >>> 18) & 0x3F];
+                dest[position++] = BASE64URL[(bits >>> 12) & 0x3F];
+                dest[position++] = BASE64URL[(bits >>> 6) & 0x3F];
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.jwtauth.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/*
+ * 이 서비스가 직접 발급한 HMAC 토큰 전용 검증기.
+ * 헤더가 발급 시 헤더와 정확히 일치하고 클레임이 jti/sub/iat/exp/iss/tokenType/role 뿐인 경우에만 처리하며,
+ * 그 외(만료, 서명 불일치, 알 수 없는 클레임, 이스케이프 문자 등)는 null을 반환해 jjwt 경로로 위임한다.
+ * 스레드별 Mac과 버퍼를 재사용하므로 요청당 할당은 결과 문자열과 VerifiedToken 정도로 제한된다.
+ */
+final class FastPathTokenVerifier {
+
+    private static final byte[] BASE64URL_DECODE = new byte[128];
+
+    private static final byte[] JTI = ascii("jti");
+    private static final byte[] SUB = ascii("sub");
+    private static final byte[] IAT = ascii("iat");
+    private static final byte[] EXP = ascii("exp");
+    private static final byte[] ISS = ascii("iss");
+    private static final byte[] TOKEN_TYPE = ascii("tokenType");
+    private static final byte[] ROLE = ascii("role");
+
+    static {
+        Arrays.fill(BASE64URL_DECODE, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL_DECODE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final SecretKey secretKey;
+    private final String macAlgorithm;
+    private final String headerSegment;
+    private final int signatureLength;
+    private final ThreadLocal<Context> contexts;
+
+    FastPathTokenVerifier(SecretKey secretKey) {
+        this.secretKey = secretKey;
+        this.macAlgorithm = SignatureAlgorithm.forSigningKey(secretKey).getJcaName();
+        this.headerSegment = headerSegmentFor(secretKey);
+        this.contexts = ThreadLocal.withInitial(this::newContext);
+        this.signatureLength = contexts.get().mac.getMacLength();
+    }
+
+    // jjwt가 이 키로 발급하는 헤더 세그먼트 (발급기와 검증기가 같은 기준값을 사용)
+    static String headerSegmentFor(SecretKey secretKey) {
+        String probe = Jwts.builder()
+                .setSubject("probe")
+                .signWith(secretKey, SignatureAlgorithm.forSigningKey(secretKey))
+                .compact();
+        return probe.substring(0, probe.indexOf('.'));
+    }
+
+    // fast path로 검증 가능한 경우 VerifiedToken, 그렇지 않으면 null
+    VerifiedToken verify(String token, long nowMillis) {
+        int headerLength = headerSegment.length();
+        int length = token.length();
+        if (length <= headerLength + 2 || token.charAt(headerLength) != '.' || !token.startsWith(headerSegment)) {
+            return null;
+        }
+
+        int secondDot = token.indexOf('.', headerLength + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return null;
+        }
+
+        Context context = contexts.get();
+        byte[] signingInput = context.copyAscii(token, secondDot);
+        if (signingInput == null) {
+            return null;
+        }
+
+        // 서명 검증 - 통과하기 전에는 페이로드를 신뢰하지 않음
+        if (decodeBase64Url(token, secondDot + 1, length, context.signature) != signatureLength) {
+            return null;
+        }
+        try {
+            context.mac.update(signingInput, 0, secondDot);
+            context.mac.doFinal(context.expectedSignature, 0);
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+        if (!constantTimeEquals(context.expectedSignature, context.signature, signatureLength)) {
+            return null;
+        }
+
+        int payloadLength = context.decodePayload(headerLength + 1, secondDot);
+        if (payloadLength < 0) {
+            return null;
+        }
+        return context.scanner.scan(context.payload, payloadLength, nowMillis);
+    }
+
+    private Context newContext() {
+        try {
+            Mac mac = Mac.getInstance(macAlgorithm);
+            mac.init(secretKey);
+            return new Context(mac);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC 초기화에 실패했습니다: " + macAlgorithm, e);
+        }
+    }
+
+    // 문자열 [from, to) 구간의 base64url을 dest에 디코딩, 길이 초과나 잘못된 문자는 -1
+    private static int decodeBase64Url(CharSequence source, int from, int to, byte[] dest) {
+        int bits = 0;
+        int bitCount = 0;
+        int written = 0;
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            int value = c < 128 ? BASE64URL_DECODE[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                if (written == dest.length) {
+                    return -1;
+                }
+                dest[written++] = (byte) (bits >> bitCount);
+            }
+        }
+        return written;
+    }
+
+    // byte[] 구간의 base64url을 dest에 디코딩
+    private static int decodeBase64Url(byte[] source, int from, int to, byte[] dest) {
+        int bits = 0;
+        int bitCount = 0;
+        int written = 0;
+        for (int i = from; i < to; i++) {
+            int value = BASE64URL_DECODE[source[i]];
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                dest[written++] = (byte) (bits >> bitCount);
+            }
+        }
+        return written;
+    }
+
+    private static boolean constantTimeEquals(byte[] a, byte[] b, int length) {
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            diff |= a[i] ^ b[i];
+        }
+        return diff == 0;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // 스레드별 재사용 상태
+    private static final class Context {
+        private final Mac mac;
+        private final byte[] signature = new byte[64];
+        private final byte[] expectedSignature;
+        private final ClaimScanner scanner = new ClaimScanner();
+        private byte[] ascii = new byte[512];
+        private byte[] payload = new byte[384];
+
+        private Context(Mac mac) {
+            this.mac = mac;
+            this.expectedSignature = new byte[mac.getMacLength()];
+        }
+
+        // 서명 대상 구간(header.payload)을 ASCII 버퍼로 복사, 비 ASCII 문자가 있으면 null
+        private byte[] copyAscii(String token, int end) {
+            if (ascii.length < end) {
+                ascii = new byte[Math.max(end, ascii.length * 2)];
+            }
+            for (int i = 0; i < end; i++) {
+                char c = token.charAt(i);
+                if (c >= 128) {
+                    return null;
+                }
+                ascii[i] = (byte) c;
+            }
+            return ascii;
+        }
+
+        private int decodePayload(int from, int to) {
+            int required = (to - from) * 3 / 4 + 1;
+            if (payload.length < required) {
+                payload = new byte[Math.max(required, payload.length * 2)];
+            }
+            return decodeBase64Url(ascii, from, to, payload);
+        }
+    }
+
+    // 평평한 JSON 객체(문자열/정수 값만)를 위한 최소 스캐너
+    private static final class ClaimScanner {
+        private byte[] json;
+        private int pos;
+        private int limit;
+
+        private VerifiedToken scan(byte[] json, int length, long nowMillis) {
+            this.json = json;
+            this.pos = 0;
+            this.limit = length;
+
+            String jwtId = null;
+            String subject = null;
+            String tokenType = null;
+            String role = null;
+            long issuedAt = -1;
+            long expiration = -1;
+            boolean issuerSeen = false;
+
+            skipWhitespace();
+            if (!consume('{')) {
+                return null;
+            }
+
+            while (true) {
+                skipWhitespace();
+                int keyStart = pos + 1;
+                int keyEnd = readString();
+                if (keyEnd < 0) {
+                    return null;
+                }
+                skipWhitespace();
+                if (!consume(':')) {
+                    return null;
+                }
+                skipWhitespace();
+
+                if (matches(keyStart, keyEnd, IAT) || matches(keyStart, keyEnd, EXP)) {
+                    long value = readLong();
+                    if (value < 0) {
+                        return null;
+                    }
+                    if (json[keyStart] == 'i') {
+                        if (issuedAt >= 0) {
+                            return null;
+                        }
+                        issuedAt = value;
+                    } else {
+                        if (expiration >= 0) {
+                            return null;
+                        }
+                        expiration = value;
+                    }
+                } else {
+                    int valueStart = pos + 1;
+                    int valueEnd = readString();
+                    if (valueEnd < 0) {
+                        return null;
+                    }
+
+                    if (matches(keyStart, keyEnd, ISS)) {
+                        if (issuerSeen) {
+                            return null;
+                        }
+                        issuerSeen = true;
+                    } else if (matches(keyStart, keyEnd, JTI) && jwtId == null) {
+                        jwtId = utf8(valueStart, valueEnd);
+                    } else if (matches(keyStart, keyEnd, SUB) && subject == null) {
+                        subject = utf8(valueStart, valueEnd);
+                    } else if (matches(keyStart, keyEnd, TOKEN_TYPE) && tokenType == null) {
+                        tokenType = utf8(valueStart, valueEnd);
+                    } else if (matches(keyStart, keyEnd, ROLE) && role == null) {
+                        role = utf8(valueStart, valueEnd);
+                    } else {
+                        // 알 수 없는 클레임이나 중복 클레임
+                        return null;
+                    }
+                }
+
+                skipWhitespace();
+                if (consume(',')) {
+                    continue;
+                }
+                if (consume('}')) {
+                    break;
+                }
+                return null;
+            }
+
+            skipWhitespace();
+            if (pos != limit || subject == null || tokenType == null || issuedAt < 0 || expiration < 0) {
+                return null;
+            }
+
+            long expirationMillis = expiration * 1000;
+            // 만료된 토큰은 jjwt 경로에서 ExpiredJwtException으로 처리
+            if (nowMillis > expirationMillis) {
+                return null;
+            }
+            return VerifiedToken.of(subject, role, jwtId, tokenType, issuedAt * 1000, expirationMillis);
+        }
+
+        private void skipWhitespace() {
+            while (pos < limit) {
+                byte b = json[pos];
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        private boolean consume(char expected) {
+            if (pos < limit && json[pos] == expected) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        // 이스케이프 없는 문자열만 허용, 닫는 따옴표 위치 반환 (실패 시 -1)
+        private int readString() {
+            if (!consume('"')) {
+                return -1;
+            }
+            while (pos < limit) {
+                byte b = json[pos];
+                if (b == '"') {
+                    return pos++;
+                }
+                if (b == '\\' || (b >= 0 && b < 0x20)) {
+                    return -1;
+                }
+                pos++;
+            }
+            return -1;
+        }
+
+        private long readLong() {
+            int start = pos;
+            long value = 0;
+            while (pos < limit && json[pos] >= '0' && json[pos] <= '9') {
+                if (pos - start >= 15) {
+                    return -1;
+                }
+                value = value * 10 + (json[pos] - '0');
+                pos++;
+            }
+            return pos > start ? value : -1;
+        }
+
+        private boolean matches(int start, int end, byte[] key) {
+            if (end - start != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (json[start + i] != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String utf8(int start, int end) {
+            return new String(json, start, end - start, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,6 +16,8 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -23,6 +26,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenUtil jwtTokenUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final SecurityEpochService securityEpochService;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final PhantomTokenStore phantomTokenStore;
+    private final JwtProperties jwtProperties;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -31,13 +38,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = extractTokenFromRequest(request);
 
-            if (StringUtils.hasText(token) && jwtTokenUtil.validateToken(token)) {
-
-                if (jwtTokenUtil.isAccessToken(token)) {
-                    authenticateUser(token, request);
-                } else {
-                    log.warn("Access Token이 아닌 토큰으로 인증 시도 (IP: {})", getClientIpAddress(request));
-                }
+            if (StringUtils.hasText(token)) {
+                resolveToken(token).ifPresent(verifiedToken -> {
+                    if (verifiedToken.isAccessToken()) {
+                        authenticateUser(verifiedToken, request);
+                    } else {
+                        log.warn("Access Token이 아닌 토큰으로 인증 시도 (IP: {})", getClientIpAddress(request));
+                    }
+                });
             }
         } catch (Exception e) {
             log.error("JWT 토큰 처리 중 오류 발생: {} (IP: {})", e.getMessage(), getClientIpAddress(request));
@@ -47,6 +55,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // 불투명 토큰은 서명 검증 없이 저장소 조회 한 번으로 처리
+    private Optional<VerifiedToken> resolveToken(String token) {
+        if (phantomTokenStore.isOpaqueToken(token)) {
+            return phantomTokenStore.resolve(token);
+        }
+        return jwtTokenUtil.verify(token);
+    }
+
     private String extractTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -55,28 +71,66 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private void authenticateUser(String token, HttpServletRequest request) {
-        String username = jwtTokenUtil.getUsernameFromToken(token);
+    private void authenticateUser(VerifiedToken verifiedToken, HttpServletRequest request) {
+        String username = verifiedToken.getSubject();
+
+        if (username == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        // 잠금/비활성화/비밀번호 변경 이전에 발급된 토큰 거부
+        if (!securityEpochService.isCurrent(verifiedToken)) {
+            log.warn("보안 이벤트 이전에 발급된 토큰으로 인증 시도: {} (IP: {})", username, getClientIpAddress(request));
+            return;
+        }
 
-            if (userDetails != null) {
-                UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                    );
+        // 로그아웃으로 폐기된 토큰 거부
+        if (accessTokenDenylist.isRevoked(verifiedToken)) {
+            log.warn("로그아웃된 토큰으로 인증 시도: {} (IP: {})", username, getClientIpAddress(request));
+            return;
+        }
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        UsernamePasswordAuthenticationToken authentication = jwtProperties.isStatelessPrincipal()
+                ? authenticationFromClaims(verifiedToken)
+                : authenticationFromUserDetails(username);
 
-                log.debug("사용자 '{}' 인증 완료, 역할: {}", username, userDetails.getAuthorities());
-            }
+        if (authentication != null) {
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+
+            log.debug("사용자 '{}' 인증 완료, 역할: {}", username, authentication.getAuthorities());
         }
     }
 
+    // 토큰의 role 클레임만으로 인증 객체 구성 (DB 조회 없음)
+    private UsernamePasswordAuthenticationToken authenticationFromClaims(VerifiedToken verifiedToken) {
+        String role = verifiedToken.getRole();
+        if (!StringUtils.hasText(role)) {
+            log.warn("role 클레임이 없는 Access Token: {}", verifiedToken.getSubject());
+            return null;
+        }
+
+        return new UsernamePasswordAuthenticationToken(
+            verifiedToken.getSubject(),
+            null,
+            Collections.singletonList(new SimpleGrantedAuthority(role))
+        );
+    }
+
+    private UsernamePasswordAuthenticationToken authenticationFromUserDetails(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+
+        if (userDetails == null) {
+            return null;
+        }
+
+        return new UsernamePasswordAuthenticationToken(
+            userDetails,
+            null,
+            userDetails.getAuthorities()
+        );
+    }
+
     private String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
@@ -0,0 +1,249 @@
+package com.jwtauth.security;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.*;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.*;
+
+/*
+ * ES256 서명 키 링 - kid로 검증 키를 O(1) 조회하고 주기적으로 키를 회전하며 JWKS로 공개 키를 게시.
+ * 키와 회전 일정(키별 활성화 시각)은 JwtSigningKeyStore(공유 DB)에 있으므로 모든 인스턴스가 같은 키로 서명/검증하고 같은 JWKS를 게시하며,
+ * 재시작해도 발급된 토큰이 유지된다. 다음 키는 활성화 한 주기 전에 저장되어 모든 인스턴스와 하위 서비스의 JWKS 캐시에 미리 퍼진다.
+ * 회전은 활성화 시각이 정해진 행을 먼저 저장한 인스턴스의 키로 결정되며(활성화 시각 유니크), 나머지는 저장된 키를 읽어 쓴다.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing implements SmartInitializingSingleton {
+
+    private static final int COORDINATE_LENGTH = 32; // P-256 좌표 길이 (바이트)
+
+    private final JwtProperties jwtProperties;
+    private final JwtSigningKeyStore keyStore;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private volatile Map<String, SigningKey> verificationKeys = Collections.emptyMap();
+    private volatile SigningKey activeKey;
+    // 다음 회전 때 활성화될 키 - 하위 서비스의 JWKS 캐시가 미리 받아두도록 먼저 게시
+    private volatile SigningKey nextKey;
+    private volatile JwkSet jwkSet = new JwkSet(Collections.emptyList(), "\"empty\"");
+
+    public JwtKeyRing(JwtProperties jwtProperties, JwtSigningKeyStore keyStore) {
+        this.jwtProperties = jwtProperties;
+        this.keyStore = keyStore;
+    }
+
+    // 스키마 생성 후, 요청을 받기 전에 공유 저장소의 키를 읽음 (없으면 생성) - 실패하면 서명할 수 없으므로 기동 중단
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (isEnabled()) {
+            refresh(System.currentTimeMillis());
+        }
+    }
+
+    public boolean isEnabled() {
+        return jwtProperties.getAccessTokenSigning() == JwtProperties.SigningMode.ES256;
+    }
+
+    public SigningKey getActiveKey() {
+        return getActiveKey(System.currentTimeMillis());
+    }
+
+    // 다음 키의 활성화 시각이 지났으면 동기화 주기를 기다리지 않고 바로 전환
+    SigningKey getActiveKey(long nowMillis) {
+        SigningKey next = nextKey;
+        return next != null && next.getActivatesAt() <= nowMillis ? next : activeKey;
+    }
+
+    // kid로 검증 키 조회 (없으면 null)
+    public PublicKey getVerificationKey(String kid) {
+        SigningKey key = kid != null ? verificationKeys.get(kid) : null;
+        return key != null ? key.getPublicKey() : null;
+    }
+
+    public JwkSet getJwkSet() {
+        return jwkSet;
+    }
+
+    // 1분마다 공유 저장소와 동기화 - 회전 시각이 된 키 활성화, 다음 키 예약, 폐기된 키 정리
+    @Scheduled(fixedRate = 60000)
+    public void rotateIfDue() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            refresh(System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            log.warn("JWT 서명 키 동기화 실패 - 기존 키 유지: {}", e.getMessage());
+        }
+    }
+
+    synchronized void refresh(long nowMillis) {
+        // 활성 키가 없으면 현재 주기 시작 시각으로, 예약된 다음 키가 없으면 다음 주기로 생성
+        // 같은 상태를 본 인스턴스들은 같은 활성화 시각을 계산하므로 한 곳의 저장만 성공하고 나머지는 그 키를 읽음
+        List<JwtSigningKeyStore.StoredKey> stored = keyStore.loadAll();
+        if (activeAt(stored, nowMillis) == null) {
+            insertKey(periodStart(nowMillis));
+            stored = keyStore.loadAll();
+        }
+        if (stored.get(stored.size() - 1).activatesAt() <= nowMillis) {
+            insertKey(nextActivation(activeAt(stored, nowMillis), nowMillis));
+            stored = keyStore.loadAll();
+        }
+
+        // 폐기 후 Access Token 수명이 지난 키는 더 이상 검증에 필요 없음
+        JwtSigningKeyStore.StoredKey oldestNeeded = activeAt(stored, nowMillis - jwtProperties.getExpirationTime());
+        if (oldestNeeded != null && stored.get(0).activatesAt() < oldestNeeded.activatesAt()) {
+            keyStore.deleteActivatedBefore(oldestNeeded.activatesAt());
+            stored = stored.stream().filter(key -> key.activatesAt() >= oldestNeeded.activatesAt()).toList();
+        }
+
+        apply(stored, nowMillis);
+    }
+
+    // 활성 키 기준 한 주기 뒤 - 이미 지났으면(동기화가 오래 멈춘 경우) 현재 주기의 다음 시작 시각
+    private long nextActivation(JwtSigningKeyStore.StoredKey current, long nowMillis) {
+        long next = current.activatesAt() + jwtProperties.getKeyRotation().getInterval();
+        return next > nowMillis ? next : periodStart(nowMillis) + jwtProperties.getKeyRotation().getInterval();
+    }
+
+    private long periodStart(long nowMillis) {
+        return nowMillis - Math.floorMod(nowMillis, jwtProperties.getKeyRotation().getInterval());
+    }
+
+    private void insertKey(long activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"), secureRandom);
+            KeyPair keyPair = generator.generateKeyPair();
+
+            byte[] kidBytes = new byte[12];
+            secureRandom.nextBytes(kidBytes);
+            String kid = Base64.getUrlEncoder().withoutPadding().encodeToString(kidBytes);
+
+            if (keyStore.insert(kid, activatesAt, keyPair)) {
+                log.info("JWT 서명 키 생성: kid={}, 활성화 {}", kid, Instant.ofEpochMilli(activatesAt));
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("ES256 키 생성에 실패했습니다.", e);
+        }
+    }
+
+    // 저장된 키로 검증 키 맵, 활성/다음 키, JWKS 교체 (이미 읽은 키는 다시 복호화하지 않음)
+    private void apply(List<JwtSigningKeyStore.StoredKey> stored, long nowMillis) {
+        Map<String, SigningKey> previous = verificationKeys;
+        Map<String, SigningKey> keys = new LinkedHashMap<>();
+        SigningKey active = null;
+        SigningKey next = null;
+        for (JwtSigningKeyStore.StoredKey storedKey : stored) {
+            SigningKey key = previous.get(storedKey.kid());
+            if (key == null) {
+                key = new SigningKey(storedKey.kid(), keyStore.decode(storedKey), storedKey.activatesAt());
+            }
+            keys.put(key.getKid(), key);
+            if (key.getActivatesAt() <= nowMillis) {
+                active = key;
+            } else if (next == null) {
+                next = key;
+            }
+        }
+
+        SigningKey previousActive = activeKey;
+        verificationKeys = keys;
+        activeKey = active;
+        nextKey = next;
+        if (!keys.keySet().equals(previous.keySet())) {
+            publishJwkSet(keys.values());
+        }
+        if (active != null && (previousActive == null || !previousActive.getKid().equals(active.getKid()))) {
+            log.info("JWT 서명 키 회전: 활성 kid={}, 다음 kid={}", active.getKid(), next != null ? next.getKid() : null);
+        }
+    }
+
+    // 활성화 시각 순으로 정렬된 키 중 nowMillis에 활성인 키
+    private static JwtSigningKeyStore.StoredKey activeAt(List<JwtSigningKeyStore.StoredKey> stored, long nowMillis) {
+        JwtSigningKeyStore.StoredKey active = null;
+        for (JwtSigningKeyStore.StoredKey key : stored) {
+            if (key.activatesAt() <= nowMillis) {
+                active = key;
+            }
+        }
+        return active;
+    }
+
+    private void publishJwkSet(Collection<SigningKey> keys) {
+        List<Map<String, String>> jwks = new ArrayList<>();
+        List<String> kids = new ArrayList<>();
+        for (SigningKey key : keys) {
+            jwks.add(key.toJwk());
+            kids.add(key.getKid());
+        }
+
+        // 키 목록이 같으면 모든 인스턴스가 같은 ETag를 게시
+        String etag = "\"" + Integer.toHexString(String.join(",", kids).hashCode()) + "\"";
+        jwkSet = new JwkSet(Collections.unmodifiableList(jwks), etag);
+    }
+
+    @Getter
+    public static class SigningKey {
+        private final String kid;
+        private final PrivateKey privateKey;
+        private final PublicKey publicKey;
+        private final long activatesAt;
+
+        SigningKey(String kid, KeyPair keyPair, long activatesAt) {
+            this.kid = kid;
+            this.privateKey = keyPair.getPrivate();
+            this.publicKey = keyPair.getPublic();
+            this.activatesAt = activatesAt;
+        }
+
+        Map<String, String> toJwk() {
+            ECPublicKey ecPublicKey = (ECPublicKey) publicKey;
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("kid", kid);
+            jwk.put("x", encoder.encodeToString(toCoordinate(ecPublicKey.getW().getAffineX())));
+            jwk.put("y", encoder.encodeToString(toCoordinate(ecPublicKey.getW().getAffineY())));
+            return jwk;
+        }
+
+        // BigInteger 부호 바이트를 제거하고 고정 길이로 맞춤
+        private static byte[] toCoordinate(BigInteger value) {
+            byte[] bytes = value.toByteArray();
+            byte[] coordinate = new byte[COORDINATE_LENGTH];
+            int length = Math.min(bytes.length, COORDINATE_LENGTH);
+            System.arraycopy(bytes, bytes.length - length, coordinate, COORDINATE_LENGTH - length, length);
+            return coordinate;
+        }
+    }
+
+    // 게시용 JWKS 스냅샷 (키 목록이 바뀔 때만 다시 생성)
+    @Getter
+    public static class JwkSet {
+        private final List<Map<String, String>> keys;
+        private final String etag;
+
+        JwkSet(List<Map<String, String>> keys, String etag) {
+            this.keys = keys;
+            this.etag = etag;
+        }
+
+        public Map<String, Object> toJson() {
+            return Collections.singletonMap("keys", keys);
+        }
+    }
+}
@@ -11,4 +11,46 @@ public class JwtProperties {
     private String secret;
     private long expirationTime;
     private long refreshTokenExpirationTime;
+    // true면 Access Token 클레임만으로 인증 객체를 구성 (요청마다 사용자 DB 조회 생략)
+    private boolean statelessPrincipal = false;
+    // true면 로그인/갱신 시 Access Token을 짧은 불투명 참조 토큰으로 발급 (JWT와 클레임은 서버 메모리에 보관)
+    private boolean opaqueAccessTokens = false;
+    // Access Token 서명 방식 (HMAC: spring.jwt.secret 공유, ES256: 키 링 + JWKS 게시)
+    private SigningMode accessTokenSigning = SigningMode.HMAC;
+    private KeyRotation keyRotation = new KeyRotation();
+    private Cache cache = new Cache();
+    private Introspection introspection = new Introspection();
+    private Denylist denylist = new Denylist();
+
+    public enum SigningMode {
+        HMAC, ES256
+    }
+
+    // ES256 키 회전 설정
+    @Data
+    public static class KeyRotation {
+        private long interval = 86400000; // 24시간
+        private long jwksMaxAge = 3600; // JWKS Cache-Control max-age (초), interval보다 짧아야 함
+    }
+
+    // 검증된 토큰 캐시 설정
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private int maxSize = 10000;
+    }
+
+    // 토큰 조회(introspection) 설정
+    @Data
+    public static class Introspection {
+        private int maxBatchSize = 100;
+        private long maxCacheSeconds = 60; // 응답 캐시 상한 (폐기 반영 지연 상한)
+    }
+
+    // 로그아웃된 Access Token 거부 목록 설정
+    @Data
+    public static class Denylist {
+        private long expectedRevocations = 100000; // Access Token 수명 동안 예상 폐기 건수
+        private double falsePositiveRate = 0.001; // 블룸 필터 오탐률
+    }
 }
@@ -0,0 +1,119 @@
+package com.jwtauth.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.List;
+
+/*
+ * jwt_signing_keys 테이블에 ES256 서명 키를 저장하고 읽는 공유 저장소.
+ * 모든 인스턴스가 같은 키와 활성화 일정을 읽으므로 어느 인스턴스가 서명한 토큰이든 다른 인스턴스와 JWKS로 검증된다.
+ * 개인 키는 spring.jwt.secret에서 HMAC으로 파생한 AES 키로 암호화하며(kid를 AAD로 묶음), 같은 secret을 가진 인스턴스만 복호화할 수 있다.
+ */
+@Slf4j
+@Component
+public class JwtSigningKeyStore {
+
+    private static final String SELECT_SQL =
+            "SELECT kid, activates_at, public_key, private_key FROM jwt_signing_keys ORDER BY activates_at";
+    private static final String INSERT_SQL =
+            "INSERT INTO jwt_signing_keys (kid, activates_at, public_key, private_key) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM jwt_signing_keys WHERE activates_at < ?";
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final byte[] WRAP_KEY_LABEL = "jwt-signing-key-wrap".getBytes(StandardCharsets.US_ASCII);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecretKey wrapKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public JwtSigningKeyStore(JdbcTemplate jdbcTemplate, JwtProperties jwtProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.wrapKey = deriveWrapKey(jwtProperties.getSecret());
+    }
+
+    // 활성화 시각 순으로 전체 키 조회
+    public List<StoredKey> loadAll() {
+        return jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new StoredKey(
+                rs.getString(1), rs.getLong(2), rs.getBytes(3), rs.getBytes(4)));
+    }
+
+    // 같은 활성화 시각의 키를 다른 인스턴스가 먼저 저장했으면 false
+    public boolean insert(String kid, long activatesAt, KeyPair keyPair) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, kid, activatesAt, keyPair.getPublic().getEncoded(),
+                    encrypt(kid, keyPair.getPrivate().getEncoded()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            log.debug("활성화 시각 {}의 서명 키가 이미 저장됨 - 저장된 키 사용", activatesAt);
+            return false;
+        }
+    }
+
+    // 활성화 시각이 activatesAt 이전인 키 삭제
+    public int deleteActivatedBefore(long activatesAt) {
+        return jdbcTemplate.update(DELETE_SQL, activatesAt);
+    }
+
+    public KeyPair decode(StoredKey stored) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            return new KeyPair(
+                    keyFactory.generatePublic(new X509EncodedKeySpec(stored.publicKey())),
+                    keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decrypt(stored.kid(), stored.privateKey()))));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("서명 키 " + stored.kid() + "를 복호화할 수 없습니다. spring.jwt.secret이 인스턴스 간에 같은지 확인하세요.", e);
+        }
+    }
+
+    private byte[] encrypt(String kid, byte[] plain) {
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, wrapKey, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.US_ASCII));
+            byte[] encrypted = cipher.doFinal(plain);
+            return ByteBuffer.allocate(IV_LENGTH + encrypted.length).put(iv).put(encrypted).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("서명 키 암호화에 실패했습니다.", e);
+        }
+    }
+
+    private byte[] decrypt(String kid, byte[] stored) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, wrapKey, new GCMParameterSpec(TAG_BITS, stored, 0, IV_LENGTH));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.US_ASCII));
+        return cipher.doFinal(stored, IV_LENGTH, stored.length - IV_LENGTH);
+    }
+
+    private static SecretKey deriveWrapKey(String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return new SecretKeySpec(mac.doFinal(WRAP_KEY_LABEL), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("서명 키 암호화 키 생성에 실패했습니다.", e);
+        }
+    }
+
+    public record StoredKey(String kid, long activatesAt, byte[] publicKey, byte[] privateKey) {
+    }
+}
@@ -7,22 +7,42 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
 @Component
 public class JwtTokenUtil {
 
+    private static final String ISSUER = "jwt-auth-service";
+
     private final JwtProperties jwtProperties;
     private final SecretKey secretKey;
-
-    public JwtTokenUtil(JwtProperties jwtProperties) {
+    // JwtParser는 불변이고 스레드 안전하므로 한 번만 생성하여 재사용
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwtKeyRing keyRing;
+    private final FastPathTokenVerifier fastPathVerifier;
+    private final FastPathTokenMinter tokenMinter;
+    private final SecurityEpochService securityEpochService;
+
+    public JwtTokenUtil(JwtProperties jwtProperties, VerifiedTokenCache verifiedTokenCache, JwtKeyRing keyRing,
+                        SecurityEpochService securityEpochService) {
         this.jwtProperties = jwtProperties;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.keyRing = keyRing;
+        this.securityEpochService = securityEpochService;
         this.secretKey = new SecretKeySpec(
             jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8),
             SignatureAlgorithm.HS512.getJcaName()
         );
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyRingSigningKeyResolver())
+                .build();
+        this.fastPathVerifier = new FastPathTokenVerifier(secretKey);
+        this.tokenMinter = new FastPathTokenMinter(secretKey, ISSUER);
     }
 
     // Access Token 생성
@@ -37,17 +57,29 @@ public class JwtTokenUtil {
 
     // 공통 토큰 생성 메서드
     private String generateToken(String username, String role, long expirationTime, TokenType tokenType) {
-        Date now = new Date();
+        long nowMillis = securityEpochService.issuedAtMillis(username, System.currentTimeMillis());
+        // Access Token은 ES256 모드에서 키 링의 활성 키로 서명 (Refresh Token은 이 서비스만 검증하므로 항상 HMAC)
+        if (tokenType == TokenType.ACCESS && keyRing.isEnabled()) {
+            return generateKeyRingToken(username, role, nowMillis, expirationTime, tokenType);
+        }
+        return tokenMinter.mint(username, role, tokenType, nowMillis, expirationTime);
+    }
+
+    private String generateKeyRingToken(String username, String role, long nowMillis, long expirationTime,
+                                        TokenType tokenType) {
+        Date now = new Date(nowMillis);
         Date expiration = new Date(now.getTime() + expirationTime);
+        JwtKeyRing.SigningKey signingKey = keyRing.getActiveKey();
 
         JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKid())
                 .setId(UUID.randomUUID().toString()) // JWT ID 추가
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(expiration)
-                .setIssuer("jwt-auth-service")
+                .setIssuer(ISSUER)
                 .claim("tokenType", tokenType.name())
-                .signWith(secretKey);
+                .signWith(signingKey.getPrivateKey(), SignatureAlgorithm.ES256);
 
         if (role != null) {
             builder.claim("role", role);
@@ -56,27 +88,46 @@ public class JwtTokenUtil {
         return builder.compact();
     }
 
-    // 토큰 유효성 검증
-    public boolean validateToken(String token) {
+    // 토큰을 한 번만 파싱/서명 검증하여 클레임 스냅샷 반환 (유효하지 않으면 empty)
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            log.warn("빈 JWT 토큰");
+            return Optional.empty();
+        }
+
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        // 자체 발급 HMAC 토큰은 전용 검증기로 처리하고, 처리할 수 없는 경우에만 jjwt로 파싱
+        VerifiedToken fastPath = fastPathVerifier.verify(token, System.currentTimeMillis());
+        if (fastPath != null) {
+            verifiedTokenCache.put(token, fastPath);
+            return Optional.of(fastPath);
+        }
+
         try {
-            parseToken(token);
-            return true;
+            VerifiedToken verifiedToken = VerifiedToken.from(parseToken(token));
+            verifiedTokenCache.put(token, verifiedToken);
+            return Optional.of(verifiedToken);
         } catch (ExpiredJwtException e) {
             log.warn("만료된 JWT 토큰: {}", e.getMessage());
-            return false;
         } catch (UnsupportedJwtException e) {
             log.warn("지원되지 않는 JWT 토큰: {}", e.getMessage());
-            return false;
         } catch (MalformedJwtException e) {
             log.warn("잘못된 형식의 JWT 토큰: {}", e.getMessage());
-            return false;
         } catch (SignatureException e) {
             log.warn("잘못된 JWT 서명: {}", e.getMessage());
-            return false;
         } catch (IllegalArgumentException e) {
             log.warn("빈 JWT 토큰: {}", e.getMessage());
-            return false;
         }
+        return Optional.empty();
+    }
+
+    // 토큰 유효성 검증
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
     }
 
     // 토큰 타입 확인
@@ -115,11 +166,7 @@ public class JwtTokenUtil {
 
     // 토큰 파싱
     public Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     // 사용자명 추출
@@ -167,6 +214,31 @@ public class JwtTokenUtil {
         }
     }
 
+    // kid가 있으면 키 링의 ES256 공개 키, 없으면 HMAC 비밀 키로 검증 (알고리즘 혼동 방지)
+    private class KeyRingSigningKeyResolver extends SigningKeyResolverAdapter {
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String kid = header.getKeyId();
+            SignatureAlgorithm algorithm = SignatureAlgorithm.forName(header.getAlgorithm());
+
+            if (kid == null) {
+                if (!algorithm.isHmac()) {
+                    throw new UnsupportedJwtException("kid 없는 토큰은 HMAC 서명만 허용됩니다: " + algorithm);
+                }
+                return secretKey;
+            }
+
+            if (algorithm != SignatureAlgorithm.ES256) {
+                throw new UnsupportedJwtException("kid가 있는 토큰은 ES256 서명만 허용됩니다: " + algorithm);
+            }
+            Key key = keyRing.getVerificationKey(kid);
+            if (key == null) {
+                throw new io.jsonwebtoken.security.SignatureException("알 수 없는 서명 키: " + kid);
+            }
+            return key;
+        }
+    }
+
     // 토큰 타입 열거형
     public enum TokenType {
         ACCESS, REFRESH
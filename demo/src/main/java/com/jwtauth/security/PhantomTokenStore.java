@@ -0,0 +1,98 @@
+package com.jwtauth.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 불투명(opaque) Access Token 저장소 - phantom token 방식.
+ * 외부 클라이언트에는 짧은 무작위 참조 토큰만 내주고, 실제 JWT의 검증된 클레임은 서버 메모리에 보관한다.
+ * 요청 시 해시 조회 한 번으로 클레임을 얻으므로 서명 검증이 없고, 항목을 지우면 즉시 폐기된다.
+ * 항목은 원본 JWT 만료 시각까지만 유지된다.
+ */
+@Slf4j
+@Component
+public class PhantomTokenStore {
+
+    private static final int TOKEN_BYTES = 24; // base64url 32자
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final JwtTokenUtil jwtTokenUtil;
+    private final boolean enabled;
+
+    public PhantomTokenStore(JwtTokenUtil jwtTokenUtil, JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.enabled = jwtProperties.isOpaqueAccessTokens();
+
+        Gauge.builder("jwt.token.opaque.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 불투명 토큰 형식인지 확인 (JWT는 항상 '.'을 포함)
+    public boolean isOpaqueToken(String token) {
+        return enabled && token != null && token.indexOf('.') < 0;
+    }
+
+    // 방금 발급한 Access Token(JWT)을 불투명 토큰으로 교환
+    public String issue(String jwt) {
+        VerifiedToken verifiedToken = jwtTokenUtil.verify(jwt)
+                .orElseThrow(() -> new IllegalStateException("발급된 Access Token을 검증할 수 없습니다."));
+
+        byte[] bytes = new byte[TOKEN_BYTES];
+        String opaqueToken;
+        do {
+            secureRandom.nextBytes(bytes);
+            opaqueToken = encoder.encodeToString(bytes);
+        } while (entries.putIfAbsent(opaqueToken, verifiedToken) != null);
+
+        return opaqueToken;
+    }
+
+    public Optional<VerifiedToken> resolve(String opaqueToken) {
+        VerifiedToken verifiedToken = entries.get(opaqueToken);
+        if (verifiedToken == null) {
+            return Optional.empty();
+        }
+
+        if (verifiedToken.isExpired(System.currentTimeMillis())) {
+            entries.remove(opaqueToken, verifiedToken);
+            return Optional.empty();
+        }
+        return Optional.of(verifiedToken);
+    }
+
+    // 즉시 폐기 - 이후 조회는 실패
+    public boolean revoke(String opaqueToken) {
+        return entries.remove(opaqueToken) != null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // 1분마다 만료된 항목 정리
+    @Scheduled(fixedRate = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(verifiedToken -> verifiedToken.isExpired(now));
+
+        int removed = before - entries.size();
+        if (removed > 0) {
+            log.debug("만료된 불투명 토큰 {}개 정리", removed);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.jwtauth.security;
+
+import com.jwtauth.config.RateLimitProperties;
+import com.jwtauth.config.RateLimitingService;
+import com.jwtauth.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 인증, 본문 파싱, 검증보다 먼저 실행되는 경로별 요청 제한 필터.
+ * 클라이언트 IP 단위로 경로 정책(RateLimiter)을 적용하고, 초과 시 미리 만들어 둔 응답 바이트로 429와 Retry-After를 바로 반환한다.
+ * 거부 경로에서는 요청 본문을 읽지 않고 예외나 MVC 디스패치도 거치지 않는다.
+ */
+@Slf4j
+@Component
+public class RequestThrottleFilter extends OncePerRequestFilter {
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY = ("{\"error\":\"TOO_MANY_REQUESTS\","
+            + "\"message\":\"요청이 너무 많습니다. 잠시 후 다시 시도해주세요.\",\"status\":429}")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final String CONTENT_TYPE = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8";
+
+    private final RateLimitingService rateLimitingService;
+    private final Route[] routes;
+
+    public RequestThrottleFilter(RateLimitProperties rateLimitProperties, RateLimitingService rateLimitingService,
+                                 MeterRegistry meterRegistry) {
+        this.rateLimitingService = rateLimitingService;
+
+        RateLimitProperties.Throttle throttle = rateLimitProperties.getThrottle();
+        List<RateLimitProperties.Route> configured = throttle.isEnabled() ? throttle.getRoutes() : List.of();
+        this.routes = configured.stream()
+                .filter(RateLimitProperties.Policy::isEnabled)
+                .map(Route::new)
+                .toArray(Route[]::new);
+
+        for (Route route : routes) {
+            FunctionCounter.builder("http.throttle.rejections", route.rejections, LongAdder::sum)
+                    .tag("route", route.pattern)
+                    .register(meterRegistry);
+            Gauge.builder("rate.limit.entries", route.limiter, RateLimiter::size)
+                    .tag("limiter", "route:" + route.pattern)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routes.length == 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Route route = match(request);
+        if (route != null) {
+            String clientIp = rateLimitingService.getClientIpAddress(request);
+            long now = System.nanoTime();
+            if (!route.limiter.tryAcquire(clientIp, now)) {
+                route.rejections.increment();
+                reject(response, route.limiter.retryAfterNanos(clientIp, now));
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Route match(HttpServletRequest request) {
+        // 디코딩하고 ';' 파라미터, '//', '.', '..'를 정리한 경로로 비교 (원본 URI로 비교하면 %61uth 등으로 우회 가능)
+        String path = StringUtils.cleanPath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+
+        PathContainer pathContainer = null;
+        for (Route route : routes) {
+            if (route.prefix != null) {
+                if (path.startsWith(route.prefix)
+                        && (path.length() == route.prefix.length() || path.charAt(route.prefix.length()) == '/')) {
+                    return route;
+                }
+                continue;
+            }
+            if (pathContainer == null) {
+                pathContainer = PathContainer.parsePath(path);
+            }
+            if (route.pathPattern.matches(pathContainer)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterNanos) throws IOException {
+        long seconds = Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(seconds));
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+        ServletOutputStream outputStream = response.getOutputStream();
+        outputStream.write(TOO_MANY_REQUESTS_BODY);
+        outputStream.flush();
+    }
+
+    // 제한에 더 이상 영향이 없는 항목 정리 (5분마다)
+    @Scheduled(fixedRate = 300000)
+    public void purgeIdleEntries() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Route route : routes) {
+            removed += route.limiter.purgeIdle(now);
+        }
+        if (removed > 0) {
+            log.debug("경로별 요청 제한 항목 {}개 정리", removed);
+        }
+    }
+
+    private static final class Route {
+        private final String pattern;
+        // "/api/auth/**"처럼 접두사만 비교하면 되는 패턴은 문자열 비교로 처리
+        private final String prefix;
+        private final PathPattern pathPattern;
+        private final RateLimiter limiter;
+        private final LongAdder rejections = new LongAdder();
+
+        private Route(RateLimitProperties.Route route) {
+            if (route.getPattern() == null || !route.getPattern().startsWith("/")) {
+                throw new IllegalArgumentException("요청 제한 경로 패턴은 '/'로 시작해야 합니다: " + route.getPattern());
+            }
+            this.pattern = route.getPattern();
+            this.pathPattern = PathPatternParser.defaultInstance.parse(pattern);
+            String candidate = pattern.endsWith("/**") ? pattern.substring(0, pattern.length() - 3) : null;
+            this.prefix = candidate != null && candidate.indexOf('*') < 0 && candidate.indexOf('{') < 0
+                    && candidate.indexOf('?') < 0 ? candidate : null;
+            this.limiter = route.toRateLimiter();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.jwtauth.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 사용자별 보안 에포크 - 잠금/비활성화/비밀번호 변경 시점 이전에 발급된 Access Token을 DB 조회 없이 거부
+@Slf4j
+@Component
+public class SecurityEpochService {
+
+    // username -> 이 시각(초 단위, JWT iat 정밀도와 동일) 이후에 발급된 토큰만 유효
+    private final Map<String, Long> epochs = new ConcurrentHashMap<>();
+    private final JwtProperties jwtProperties;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public SecurityEpochService(JwtProperties jwtProperties, VerifiedTokenCache verifiedTokenCache) {
+        this.jwtProperties = jwtProperties;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    // 사용자의 기존 Access Token 전체 무효화
+    public void revokeIssuedTokens(String username) {
+        revokeIssuedTokens(username, System.currentTimeMillis());
+    }
+
+    void revokeIssuedTokens(String username, long nowMillis) {
+        // iat는 초 단위로 잘리므로 같은 초에 발급된 토큰은 이벤트 전후를 구분할 수 없음 - 다음 초부터 유효하게 해 모두 거부
+        // (이벤트 이후 같은 초에 새로 발급하는 토큰은 issuedAtMillis가 iat를 에포크로 올려 줌)
+        long epoch = nowMillis / 1000 + 1;
+        epochs.merge(username, epoch, Math::max);
+        verifiedTokenCache.invalidateUser(username);
+        log.debug("사용자 '{}' 보안 에포크 갱신: {}", username, epoch);
+    }
+
+    // 새 토큰에 기록할 발급 시각 - 무효화 직후 같은 초에 발급하면 iat를 에포크(다음 초)로 올려 isCurrent를 통과시킴
+    public long issuedAtMillis(String username, long nowMillis) {
+        Long epoch = epochs.get(username);
+        return epoch == null ? nowMillis : Math.max(nowMillis, epoch * 1000);
+    }
+
+    // 토큰 발급 시점이 사용자의 보안 에포크 이후인지 확인
+    public boolean isCurrent(VerifiedToken verifiedToken) {
+        Long epoch = epochs.get(verifiedToken.getSubject());
+        return epoch == null || verifiedToken.getIssuedAtMillis() / 1000 >= epoch;
+    }
+
+    public int size() {
+        return epochs.size();
+    }
+
+    // Access Token 수명보다 오래된 에포크는 더 이상 거부할 토큰이 없으므로 10분마다 정리
+    @Scheduled(fixedRate = 600000)
+    public void purgeStaleEpochs() {
+        long thresholdSeconds = (System.currentTimeMillis() - jwtProperties.getExpirationTime()) / 1000;
+        epochs.values().removeIf(epoch -> epoch < thresholdSeconds);
+    }
+}
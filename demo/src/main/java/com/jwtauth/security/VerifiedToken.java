@@ -0,0 +1,77 @@
+package com.jwtauth.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Date;
+
+// 서명 검증이 끝난 토큰의 클레임 스냅샷 (한 번 파싱한 결과를 요청 처리 전반에서 재사용)
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public final class VerifiedToken {
+
+    private final String subject;
+    private final String role;
+    private final String jwtId;
+    private final JwtTokenUtil.TokenType tokenType;
+    private final long issuedAtMillis;
+    private final long expirationMillis;
+
+    static VerifiedToken from(Claims claims) {
+        return of(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getId(),
+                claims.get("tokenType", String.class),
+                toMillis(claims.getIssuedAt()),
+                toMillis(claims.getExpiration())
+        );
+    }
+
+    static VerifiedToken of(String subject, String role, String jwtId, String tokenType,
+                            long issuedAtMillis, long expirationMillis) {
+        return new VerifiedToken(subject, role, jwtId, resolveTokenType(tokenType), issuedAtMillis, expirationMillis);
+    }
+
+    public boolean isAccessToken() {
+        return tokenType == JwtTokenUtil.TokenType.ACCESS;
+    }
+
+    public boolean isRefreshToken() {
+        return tokenType == JwtTokenUtil.TokenType.REFRESH;
+    }
+
+    public Date getIssuedAt() {
+        return new Date(issuedAtMillis);
+    }
+
+    public Date getExpiration() {
+        return new Date(expirationMillis);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expirationMillis <= nowMillis;
+    }
+
+    // 토큰 남은 시간 (밀리초)
+    public long getRemainingTime(long nowMillis) {
+        return Math.max(0, expirationMillis - nowMillis);
+    }
+
+    private static JwtTokenUtil.TokenType resolveTokenType(String tokenType) {
+        if (tokenType == null) {
+            return null;
+        }
+        try {
+            return JwtTokenUtil.TokenType.valueOf(tokenType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long toMillis(Date date) {
+        return date != null ? date.getTime() : 0L;
+    }
+}
@@ -0,0 +1,161 @@
+package com.jwtauth.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 서명 검증이 끝난 토큰 캐시 - 토큰 원문 대신 SHA-256 다이제스트를 키로 사용하며 exp 이후에는 절대 반환하지 않음
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    });
+
+    private final Map<TokenDigest, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.enabled = jwtProperties.getCache().isEnabled();
+        this.maxSize = Math.max(1, jwtProperties.getCache().getMaxSize());
+
+        FunctionCounter.builder("jwt.token.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("jwt.token.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("jwt.token.cache.evictions", evictions, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("jwt.token.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public VerifiedToken get(String token) {
+        if (!enabled) {
+            return null;
+        }
+
+        TokenDigest key = digest(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+
+        // 만료된 항목은 즉시 제거하고 miss로 처리 (jjwt가 다시 ExpiredJwtException을 던지도록)
+        if (cached.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, cached)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return cached;
+    }
+
+    public void put(String token, VerifiedToken verifiedToken) {
+        if (!enabled || verifiedToken.isExpired(System.currentTimeMillis())) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        entries.put(digest(token), verifiedToken);
+    }
+
+    // 특정 토큰 무효화 (로그아웃, 토큰 회전 시)
+    public void invalidate(String token) {
+        if (token != null && entries.remove(digest(token)) != null) {
+            evictions.increment();
+        }
+    }
+
+    // 특정 사용자의 모든 토큰 무효화 (계정 잠금, 비활성화, 비밀번호 변경 시)
+    public void invalidateUser(String username) {
+        if (username == null) {
+            return;
+        }
+        int before = entries.size();
+        entries.values().removeIf(verifiedToken -> username.equals(verifiedToken.getSubject()));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            evictions.add(removed);
+            log.debug("사용자 '{}' 토큰 캐시 {} 개 무효화", username, removed);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // 1분마다 만료된 항목 정리
+    @Scheduled(fixedRate = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(verifiedToken -> verifiedToken.isExpired(now));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            evictions.add(removed);
+            log.debug("만료된 토큰 캐시 {} 개 정리", removed);
+        }
+    }
+
+    // 용량 초과 시 만료 항목을 먼저 정리하고, 그래도 부족하면 일부(10%)를 임의 순서로 제거
+    private void makeRoom() {
+        purgeExpired();
+        if (entries.size() < maxSize) {
+            return;
+        }
+
+        int toEvict = Math.max(1, maxSize / 10);
+        Iterator<TokenDigest> iterator = entries.keySet().iterator();
+        while (toEvict > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+            toEvict--;
+        }
+    }
+
+    private static TokenDigest digest(String token) {
+        MessageDigest messageDigest = SHA256.get();
+        ByteBuffer hash = ByteBuffer.wrap(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    private record TokenDigest(long w0, long w1, long w2, long w3) {
+    }
+}
@@ -7,19 +7,29 @@ import com.jwtauth.dto.request.UserRegistrationRequest;
 import com.jwtauth.dto.response.TokenResponse;
 import com.jwtauth.entity.RefreshToken;
 import com.jwtauth.entity.User;
+import com.jwtauth.ratelimit.RateLimitDimension;
 import com.jwtauth.repository.RefreshTokenRepository;
 import com.jwtauth.repository.UserRepository;
+import com.jwtauth.security.AccessTokenDenylist;
+import com.jwtauth.security.FailedCredentialCache;
 import com.jwtauth.security.JwtTokenUtil;
+import com.jwtauth.security.PhantomTokenStore;
+import com.jwtauth.security.SecurityEpochService;
+import com.jwtauth.security.VerifiedToken;
+import com.jwtauth.security.VerifiedTokenCache;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -29,13 +39,27 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
     private final JwtTokenUtil jwtTokenUtil;
     private final RefreshTokenService refreshTokenService;
     private final RateLimitingService rateLimitingService;
     private final LoginAttemptService loginAttemptService;
-
-    public TokenResponse login(LoginRequest loginRequest, HttpServletRequest request) {
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SecurityEpochService securityEpochService;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final PhantomTokenStore phantomTokenStore;
+    private final FailedCredentialCache failedCredentialCache;
+
+    /*
+     * 로그인은 DB 연결을 BCrypt 동안 잡고 있지 않도록 세 단계로 나눈다.
+     * 1) 짧은 읽기 전용 조회 (사용자 조회) - 요청 스레드
+     * 2) 연결 없이 비밀번호 검증 - BCrypt 전용 실행기
+     * 3) 짧은 쓰기 트랜잭션 (로그인 시간, 세션 수 제한, Refresh Token 저장) - 애플리케이션 작업 실행기
+     * 클래스 수준 트랜잭션을 적용하지 않으므로 각 단계는 필요한 동안만 연결을 사용한다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<TokenResponse> login(LoginRequest loginRequest, HttpServletRequest request) {
         String clientIp = rateLimitingService.getClientIpAddress(request);
         String userAgent = request.getHeader("User-Agent");
 
@@ -44,70 +68,106 @@ public class AuthService {
             log.warn("의심스러운 IP에서 로그인 시도: {}", clientIp);
         }
 
-        // Rate Limiting 검사
-        if (!rateLimitingService.isAllowed(clientIp)) {
-            loginAttemptService.recordFailedLogin(loginRequest.getUsername(), clientIp, userAgent, "Rate limit exceeded");
-            throw new BadCredentialsException("너무 많은 로그인 시도로 인해 계정이 일시적으로 잠겼습니다. 15분 후 다시 시도해주세요.");
+        // Rate Limiting 검사 - IP, 대역, 계정, 전체 기준으로 시도 1회를 원자적으로 예약 (성공 시 IP/계정 초기화)
+        RateLimitDimension rejected = rateLimitingService.tryAcquireLogin(clientIp, loginRequest.getUsername());
+        if (rejected != null) {
+            loginAttemptService.recordFailedLogin(loginRequest.getUsername(), clientIp, userAgent,
+                    "Rate limit exceeded (" + rejected.name() + ")");
+            throw new BadCredentialsException("너무 많은 로그인 시도로 인해 일시적으로 제한되었습니다 (기준: "
+                    + rejected.getDescription() + "). "
+                    + rateLimitingService.getRetryAfterSeconds(rejected, clientIp, loginRequest.getUsername())
+                    + "초 후 다시 시도해주세요.");
+        }
+
+        // 1단계: 읽기 전용 조회
+        User user = userRepository.findByUsernameOrEmail(loginRequest.getUsername(), loginRequest.getUsername())
+                .orElseThrow(() -> {
+                    loginAttemptService.recordFailedLogin(loginRequest.getUsername(), clientIp, userAgent, "User not found");
+                    return new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + loginRequest.getUsername());
+                });
+
+        validateUserAccount(user);
+
+        // 몇 초 안에 이미 실패한 같은 조합은 BCrypt 없이 같은 실패로 처리
+        String storedPassword = user.getPassword();
+        if (failedCredentialCache.isRecentFailure(user.getUsername(), loginRequest.getPassword(), storedPassword)) {
+            loginAttemptService.recordFailedLogin(user.getUsername(), clientIp, userAgent, "Invalid password");
+            throw new BadCredentialsException("비밀번호가 일치하지 않습니다.");
+        }
+
+        // 2단계: 연결 없이 BCrypt 검증, 3단계: 성공 시 짧은 쓰기 트랜잭션
+        return passwordHashingService.matches(loginRequest.getPassword(), storedPassword)
+                .thenApply(matched -> {
+                    if (!matched) {
+                        failedCredentialCache.recordFailure(user.getUsername(), loginRequest.getPassword(), storedPassword);
+                        loginAttemptService.recordFailedLogin(user.getUsername(), clientIp, userAgent, "Invalid password");
+                        throw new BadCredentialsException("비밀번호가 일치하지 않습니다.");
+                    }
+                    return transactionTemplate.execute(status -> completeLogin(user, loginRequest, clientIp, userAgent));
+                });
+    }
+
+    private TokenResponse completeLogin(User user, LoginRequest loginRequest, String clientIp, String userAgent) {
+        // 로그인 성공 처리
+        rateLimitingService.recordSuccessfulAttempt(clientIp, loginRequest.getUsername());
+        loginAttemptService.recordSuccessfulLogin(user.getUsername(), clientIp, userAgent);
+
+        // 로그인 시간 업데이트 (분리된 엔티티를 병합하지 않고 UPDATE 한 번으로 처리)
+        userRepository.updateLastLoginTime(user.getUsername(), LocalDateTime.now());
+
+        // 저장된 해시가 이전 형식/강도면 응답을 기다리게 하지 않고 백그라운드에서 재해시
+        if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+            rehashInBackground(user.getUsername(), user.getPassword(), loginRequest.getPassword());
+        }
+
+        // 기존 활성 토큰들 제한 확인 (최대 5개)
+        long activeTokenCount = refreshTokenRepository.countActiveTokensByUsername(user.getUsername());
+        if (activeTokenCount >= 5) {
+            refreshTokenService.revokeOldestToken(user.getUsername());
         }
 
+        String accessToken = issueAccessToken(user);
+        String refreshToken = jwtTokenUtil.generateRefreshToken(user.getUsername());
+
+        // RefreshToken 저장
+        refreshTokenService.saveRefreshToken(refreshToken, user.getUsername(), clientIp, userAgent);
+
+        log.info("사용자 '{}' 로그인 성공 (IP: {})", user.getUsername(), clientIp);
+
+        return TokenResponse.builder()
+                .accessToken(accessToken)
+                .refreshToken(refreshToken)
+                .expiresIn(jwtTokenUtil.getExpirationTime())
+                .username(user.getUsername())
+                .role(user.getRole().name())
+                .issuedAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusSeconds(jwtTokenUtil.getExpirationTime() / 1000))
+                .build();
+    }
+
+    private void rehashInBackground(String username, String currentHash, String rawPassword) {
         try {
-            User user = userRepository.findByUsernameOrEmail(loginRequest.getUsername(), loginRequest.getUsername())
-                    .orElseThrow(() -> {
-                        loginAttemptService.recordFailedLogin(loginRequest.getUsername(), clientIp, userAgent, "User not found");
-                        return new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + loginRequest.getUsername());
+            passwordHashingService.encode(rawPassword)
+                    .thenAccept(newHash -> {
+                        if (userRepository.replacePasswordHash(username, currentHash, newHash) > 0) {
+                            log.info("사용자 '{}' 비밀번호 해시 갱신 완료", username);
+                        }
+                    })
+                    .exceptionally(e -> {
+                        log.warn("사용자 '{}' 비밀번호 재해시 실패: {}", username, e.getMessage());
+                        return null;
                     });
-
-            validateUserAccount(user);
-
-            if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-                loginAttemptService.recordFailedLogin(user.getUsername(), clientIp, userAgent, "Invalid password");
-                rateLimitingService.recordFailedAttempt(clientIp);
-                throw new BadCredentialsException("비밀번호가 일치하지 않습니다.");
-            }
-
-            // 로그인 성공 처리
-            rateLimitingService.recordSuccessfulAttempt(clientIp);
-            loginAttemptService.recordSuccessfulLogin(user.getUsername(), clientIp, userAgent);
-
-            // 로그인 시간 업데이트
-            user.updateLastLoginTime();
-            userRepository.save(user);
-
-            // 기존 활성 토큰들 제한 확인 (최대 5개)
-            long activeTokenCount = refreshTokenRepository.countActiveTokensByUsername(user.getUsername());
-            if (activeTokenCount >= 5) {
-                refreshTokenService.revokeOldestToken(user.getUsername());
-            }
-
-            String accessToken = jwtTokenUtil.generateAccessToken(user.getUsername(), user.getRole().getAuthority());
-            String refreshToken = jwtTokenUtil.generateRefreshToken(user.getUsername());
-
-            // RefreshToken 저장
-            refreshTokenService.saveRefreshToken(refreshToken, user.getUsername(), request);
-
-            log.info("사용자 '{}' 로그인 성공 (IP: {})", user.getUsername(), getClientIpAddress(request));
-
-            return TokenResponse.builder()
-                    .accessToken(accessToken)
-                    .refreshToken(refreshToken)
-                    .expiresIn(jwtTokenUtil.getExpirationTime())
-                    .username(user.getUsername())
-                    .role(user.getRole().name())
-                    .issuedAt(LocalDateTime.now())
-                    .expiresAt(LocalDateTime.now().plusSeconds(jwtTokenUtil.getExpirationTime() / 1000))
-                    .build();
-        } catch (BadCredentialsException | UsernameNotFoundException e) {
-            rateLimitingService.recordFailedAttempt(clientIp);
-            throw e;
+        } catch (TaskRejectedException e) {
+            // 대기열이 가득 찬 경우 다음 로그인에서 다시 시도
+            log.debug("사용자 '{}' 비밀번호 재해시 생략 - {}", username, e.getMessage());
         }
     }
 
     public TokenResponse refreshToken(String refreshToken, HttpServletRequest request) {
-        if (!jwtTokenUtil.validateToken(refreshToken)) {
-            throw new IllegalArgumentException("유효하지 않은 리프레시 토큰입니다.");
-        }
+        VerifiedToken verifiedToken = jwtTokenUtil.verify(refreshToken)
+                .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 리프레시 토큰입니다."));
 
-        if (!jwtTokenUtil.isRefreshToken(refreshToken)) {
+        if (!verifiedToken.isRefreshToken()) {
             throw new IllegalArgumentException("리프레시 토큰이 아닙니다.");
         }
 
@@ -118,7 +178,7 @@ public class AuthService {
             throw new IllegalArgumentException("만료된 리프레시 토큰입니다.");
         }
 
-        String username = jwtTokenUtil.getUsernameFromToken(refreshToken);
+        String username = verifiedToken.getSubject();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username));
 
@@ -128,13 +188,15 @@ public class AuthService {
         tokenEntity.revoke();
         tokenEntity.updateLastUsed();
         refreshTokenRepository.save(tokenEntity);
+        verifiedTokenCache.invalidate(refreshToken);
 
         // 새로운 토큰 생성
-        String newAccessToken = jwtTokenUtil.generateAccessToken(user.getUsername(), user.getRole().getAuthority());
+        String newAccessToken = issueAccessToken(user);
         String newRefreshToken = jwtTokenUtil.generateRefreshToken(user.getUsername());
 
         // 새 RefreshToken 저장
-        refreshTokenService.saveRefreshToken(newRefreshToken, user.getUsername(), request);
+        refreshTokenService.saveRefreshToken(newRefreshToken, user.getUsername(),
+                rateLimitingService.getClientIpAddress(request), request.getHeader("User-Agent"));
 
         log.info("사용자 '{}' 토큰 갱신 성공", username);
 
@@ -149,7 +211,7 @@ public class AuthService {
                 .build();
     }
 
-    public void register(UserRegistrationRequest request) {
+    public CompletableFuture<Void> register(UserRegistrationRequest request) {
         validateRegistrationRequest(request);
 
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -160,58 +222,89 @@ public class AuthService {
             throw new IllegalArgumentException("이미 존재하는 이메일입니다.");
         }
 
-        User user = User.builder()
-                .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .email(request.getEmail())
-                .role(request.getRole())
-                .enabled(true)
-                .accountNonExpired(true)
-                .accountNonLocked(true)
-                .credentialsNonExpired(true)
-                .build();
-
-        userRepository.save(user);
-        log.info("새 사용자 등록 완료: {} (역할: {}, 이메일: {})", user.getUsername(), user.getRole(), user.getEmail());
+        return passwordHashingService.encode(request.getPassword())
+                .thenAccept(encodedPassword -> {
+                    User user = User.builder()
+                            .username(request.getUsername())
+                            .password(encodedPassword)
+                            .email(request.getEmail())
+                            .role(request.getRole())
+                            .enabled(true)
+                            .accountNonExpired(true)
+                            .accountNonLocked(true)
+                            .credentialsNonExpired(true)
+                            .build();
+
+                    userRepository.save(user);
+                    log.info("새 사용자 등록 완료: {} (역할: {}, 이메일: {})", user.getUsername(), user.getRole(), user.getEmail());
+                });
     }
 
-    public void changePassword(String username, PasswordChangeRequest request) {
+    public CompletableFuture<Void> changePassword(String username, PasswordChangeRequest request) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username));
 
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
-            throw new BadCredentialsException("현재 비밀번호가 일치하지 않습니다.");
-        }
-
+        // 해시 비용이 들지 않는 검사를 먼저 수행
         if (!request.isNewPasswordMatching()) {
             throw new IllegalArgumentException("새 비밀번호와 확인 비밀번호가 일치하지 않습니다.");
         }
 
-        user.changePassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
-
-        // 모든 기존 토큰 무효화
-        refreshTokenRepository.revokeAllUserTokens(username);
-
-        log.info("사용자 '{}' 비밀번호 변경 완료", username);
+        return passwordHashingService.matches(request.getCurrentPassword(), user.getPassword())
+                .thenCompose(matched -> {
+                    if (!matched) {
+                        throw new BadCredentialsException("현재 비밀번호가 일치하지 않습니다.");
+                    }
+                    return passwordHashingService.encode(request.getNewPassword());
+                })
+                .thenAccept(encodedPassword -> transactionTemplate.executeWithoutResult(status -> {
+                    user.changePassword(encodedPassword);
+                    userRepository.save(user);
+
+                    failedCredentialCache.invalidate(username);
+
+                    // 모든 기존 토큰 무효화
+                    refreshTokenRepository.revokeAllUserTokens(username);
+                    securityEpochService.revokeIssuedTokens(username);
+
+                    log.info("사용자 '{}' 비밀번호 변경 완료", username);
+                }));
     }
 
     public void logout(String token, String username) {
-        if (jwtTokenUtil.validateToken(token) && jwtTokenUtil.isRefreshToken(token)) {
+        // 불투명 토큰은 저장소에서 지우는 즉시 폐기
+        if (phantomTokenStore.isOpaqueToken(token)) {
+            phantomTokenStore.revoke(token);
+            log.info("사용자 '{}' 로그아웃", username);
+            return;
+        }
+
+        VerifiedToken verifiedToken = jwtTokenUtil.verify(token).orElse(null);
+
+        if (verifiedToken != null && verifiedToken.isAccessToken()) {
+            accessTokenDenylist.revoke(verifiedToken);
+        } else if (verifiedToken != null && verifiedToken.isRefreshToken()) {
             refreshTokenRepository.findByTokenAndRevokedFalse(token)
                     .ifPresent(refreshToken -> {
                         refreshToken.revoke();
                         refreshTokenRepository.save(refreshToken);
                     });
         }
+        verifiedTokenCache.invalidate(token);
         log.info("사용자 '{}' 로그아웃", username);
     }
 
     public void logoutAll(String username) {
         refreshTokenRepository.revokeAllUserTokens(username);
+        securityEpochService.revokeIssuedTokens(username);
         log.info("사용자 '{}' 모든 기기에서 로그아웃", username);
     }
 
+    // 불투명 토큰 모드에서는 JWT 대신 참조 토큰을 반환
+    private String issueAccessToken(User user) {
+        String accessToken = jwtTokenUtil.generateAccessToken(user.getUsername(), user.getRole().getAuthority());
+        return phantomTokenStore.isEnabled() ? phantomTokenStore.issue(accessToken) : accessToken;
+    }
+
     private void validateUserAccount(User user) {
         if (!user.getEnabled()) {
             throw new BadCredentialsException("비활성화된 계정입니다.");
@@ -232,18 +325,4 @@ public class AuthService {
             throw new IllegalArgumentException("비밀번호와 확인 비밀번호가 일치하지 않습니다.");
         }
     }
-
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
-        return request.getRemoteAddr();
-    }
 }
@@ -0,0 +1,162 @@
+package com.jwtauth.service;
+
+import com.jwtauth.config.LoginAttemptProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * IP별 최근 1시간 로그인 실패 횟수를 메모리에서 집계하는 카운터.
+ * IP마다 1분 단위 버킷 60개의 링과 합계를 유지하므로 조회는 DB 없이 상수 시간에 끝난다.
+ * 실패 기록 시점에 바로 증가시키고(write-behind 저장 지연과 무관), 기동 시 최근 1시간의 실패 기록으로 채운다.
+ * 집계는 인스턴스 단위이며, 추적 IP 수가 maxTrackedIps를 넘으면 새 IP는 집계하지 않는다.
+ */
+@Slf4j
+@Component
+public class FailedLoginCounter implements SmartInitializingSingleton {
+
+    static final int WINDOW_MINUTES = 60;
+    private static final long MINUTE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final String SEED_SQL = "SELECT ip_address, attempt_time FROM login_attempts "
+            + "WHERE success = FALSE AND attempt_time > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxTrackedIps;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+
+    public FailedLoginCounter(JdbcTemplate jdbcTemplate, LoginAttemptProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxTrackedIps = properties.getMaxTrackedIps();
+
+        Gauge.builder("login.failure.window.ips", windows, ConcurrentHashMap::size).register(meterRegistry);
+        FunctionCounter.builder("login.failure.window.untracked", untracked, LongAdder::sum).register(meterRegistry);
+    }
+
+    // 모든 빈(스키마 생성 포함) 초기화 후, 웹 서버가 요청을 받기 전에 DB의 최근 실패 기록으로 채움
+    @Override
+    public void afterSingletonsInstantiated() {
+        seed(System.currentTimeMillis());
+    }
+
+    void seed(long nowMillis) {
+        long[] seeded = new long[1];
+        try {
+            jdbcTemplate.query(SEED_SQL, rs -> {
+                Timestamp attemptTime = rs.getTimestamp(2);
+                add(rs.getString(1), attemptTime.getTime(), nowMillis);
+                seeded[0]++;
+            }, new Timestamp(nowMillis - WINDOW_MINUTES * MINUTE_MILLIS));
+            log.info("최근 로그인 실패 기록 {}건으로 IP별 실패 카운터 초기화 (IP {}개)", seeded[0], windows.size());
+        } catch (DataAccessException e) {
+            log.warn("IP별 실패 카운터 초기화 실패 - 빈 상태로 시작: {}", e.getMessage());
+        }
+    }
+
+    public void recordFailure(String ipAddress) {
+        long now = System.currentTimeMillis();
+        add(ipAddress, now, now);
+    }
+
+    // 최근 60분(현재 분 포함) 동안의 실패 횟수
+    public int countRecentFailures(String ipAddress) {
+        return countRecentFailures(ipAddress, System.currentTimeMillis());
+    }
+
+    int countRecentFailures(String ipAddress, long nowMillis) {
+        if (ipAddress == null) {
+            return 0;
+        }
+        Window window = windows.get(ipAddress);
+        return window != null ? window.count(nowMillis / MINUTE_MILLIS) : 0;
+    }
+
+    void add(String ipAddress, long attemptMillis, long nowMillis) {
+        if (ipAddress == null) {
+            return;
+        }
+        long minute = attemptMillis / MINUTE_MILLIS;
+        long nowMinute = nowMillis / MINUTE_MILLIS;
+        // 정리 작업의 제거와 원자적으로 처리되도록 compute 안에서 증가
+        windows.compute(ipAddress, (ip, window) -> {
+            if (window == null) {
+                if (windows.size() >= maxTrackedIps) {
+                    untracked.increment();
+                    return null;
+                }
+                window = new Window();
+            }
+            window.add(minute, nowMinute);
+            return window;
+        });
+    }
+
+    // 최근 1시간 동안 실패가 없는 IP 정리 (5분마다)
+    @Scheduled(fixedRate = 300000)
+    public void purgeIdleEntries() {
+        purgeIdle(System.currentTimeMillis());
+    }
+
+    int purgeIdle(long nowMillis) {
+        long nowMinute = nowMillis / MINUTE_MILLIS;
+        int before = windows.size();
+        for (String ipAddress : windows.keySet()) {
+            windows.computeIfPresent(ipAddress, (ip, window) -> window.count(nowMinute) == 0 ? null : window);
+        }
+        int removed = Math.max(0, before - windows.size());
+        if (removed > 0) {
+            log.debug("IP별 실패 카운터 {}개 정리", removed);
+        }
+        return removed;
+    }
+
+    int trackedIps() {
+        return windows.size();
+    }
+
+    // 분 단위 버킷 링 - buckets[minute % 60]은 (latestMinute - 59 .. latestMinute) 구간의 해당 분 실패 수
+    private static final class Window {
+        private final int[] buckets = new int[WINDOW_MINUTES];
+        private long latestMinute;
+        private int total;
+
+        private synchronized void add(long minute, long nowMinute) {
+            advance(nowMinute);
+            if (minute <= latestMinute - WINDOW_MINUTES || minute > latestMinute) {
+                return;
+            }
+            buckets[(int) Math.floorMod(minute, (long) WINDOW_MINUTES)]++;
+            total++;
+        }
+
+        private synchronized int count(long nowMinute) {
+            advance(nowMinute);
+            return total;
+        }
+
+        // 지나간 분의 버킷을 비움 - 한 번에 최대 60칸
+        private void advance(long nowMinute) {
+            if (nowMinute <= latestMinute) {
+                return;
+            }
+            long steps = Math.min(nowMinute - latestMinute, WINDOW_MINUTES);
+            for (long minute = nowMinute - steps + 1; minute <= nowMinute; minute++) {
+                int index = (int) Math.floorMod(minute, (long) WINDOW_MINUTES);
+                total -= buckets[index];
+                buckets[index] = 0;
+            }
+            latestMinute = nowMinute;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.jwtauth.service;
+
+import com.jwtauth.analytics.CountMinSketch;
+import com.jwtauth.analytics.HyperLogLog;
+import com.jwtauth.analytics.SpaceSaving;
+import com.jwtauth.config.LoginAnalyticsProperties;
+import com.jwtauth.dto.response.HeavyHitterResponse;
+import com.jwtauth.dto.response.LoginAnalyticsResponse;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 로그인 실패 스트림의 메모리 내 분석.
+ * 최근 sliceDuration × slices 범위를 구간 링으로 나누고, 구간마다 IP/사용자명 Space-Saving 요약과 Count-Min 스케치,
+ * 상위 IP별 고유 사용자명 HyperLogLog를 유지한다. 메모리와 조회 비용은 트래픽이나 테이블 크기와 무관하게 설정값으로 고정된다.
+ * 빈도는 Space-Saving과 Count-Min 중 작은 상한으로 추정하며, 인스턴스 단위 집계이다.
+ */
+@Service
+public class LoginAnalyticsService {
+
+    private final LoginAnalyticsProperties properties;
+    private final long sliceMillis;
+    private final Slice[] slices;
+
+    public LoginAnalyticsService(LoginAnalyticsProperties properties) {
+        if (properties.getSlices() < 1 || properties.getSliceDuration() < 1) {
+            throw new IllegalArgumentException("로그인 분석 구간 수와 구간 길이는 1 이상이어야 합니다.");
+        }
+        this.properties = properties;
+        this.sliceMillis = properties.getSliceDuration();
+        this.slices = new Slice[properties.getSlices()];
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = new Slice(properties);
+        }
+    }
+
+    public void recordFailure(String username, String ipAddress) {
+        if (properties.isEnabled()) {
+            recordFailure(username, ipAddress, System.currentTimeMillis());
+        }
+    }
+
+    void recordFailure(String username, String ipAddress, long nowMillis) {
+        long epoch = nowMillis / sliceMillis;
+        Slice slice = slices[(int) Math.floorMod(epoch, (long) slices.length)];
+        synchronized (slice) {
+            if (!slice.rollTo(epoch)) {
+                return;
+            }
+            slice.failures++;
+            if (ipAddress != null) {
+                SpaceSaving.Entry<HyperLogLog> entry = slice.ips.offer(ipAddress);
+                slice.ipSketch.add(ipAddress);
+                if (username != null) {
+                    entry.getAttachment().add(username);
+                }
+            }
+            if (username != null) {
+                slice.usernames.offer(username);
+                slice.usernameSketch.add(username);
+            }
+        }
+    }
+
+    // 최근 범위의 실패 상위 IP/사용자명 - 비용은 구간 수 × 용량에 비례
+    public LoginAnalyticsResponse getTopFailures(int limit) {
+        return getTopFailures(limit, System.currentTimeMillis());
+    }
+
+    LoginAnalyticsResponse getTopFailures(int limit, long nowMillis) {
+        if (limit < 1 || limit > properties.getCapacity()) {
+            throw new IllegalArgumentException("조회할 항목 수는 1 이상 " + properties.getCapacity() + " 이하여야 합니다.");
+        }
+
+        long current = nowMillis / sliceMillis;
+        long oldest = current - slices.length + 1;
+        List<SliceSnapshot> snapshots = new ArrayList<>(slices.length);
+        for (Slice slice : slices) {
+            synchronized (slice) {
+                if (slice.epoch >= oldest && slice.epoch <= current) {
+                    snapshots.add(slice.snapshot());
+                }
+            }
+        }
+
+        List<HeavyHitterResponse> topIps = rank(snapshots, true, limit);
+        for (HeavyHitterResponse hitter : topIps) {
+            long distinct = distinctUsernames(hitter.getValue(), oldest, current);
+            hitter.setDistinctUsernames(distinct);
+            hitter.setCredentialStuffing(distinct >= properties.getCredentialStuffingThreshold());
+        }
+
+        return LoginAnalyticsResponse.builder()
+                .from(toLocalDateTime(oldest * sliceMillis))
+                .to(toLocalDateTime(nowMillis))
+                .failureCount(snapshots.stream().mapToLong(SliceSnapshot::failures).sum())
+                .topFailedIps(topIps)
+                .topTargetedUsernames(rank(snapshots, false, limit))
+                .build();
+    }
+
+    // 구간별 상한/하한을 합산해 상한 기준으로 정렬
+    private static List<HeavyHitterResponse> rank(List<SliceSnapshot> snapshots, boolean ips, int limit) {
+        Map<String, long[]> bounds = new HashMap<>();
+        for (SliceSnapshot snapshot : snapshots) {
+            for (EntrySnapshot entry : ips ? snapshot.ips() : snapshot.usernames()) {
+                bounds.putIfAbsent(entry.key(), new long[2]);
+            }
+        }
+
+        for (SliceSnapshot snapshot : snapshots) {
+            Map<String, EntrySnapshot> tracked = new HashMap<>();
+            for (EntrySnapshot entry : ips ? snapshot.ips() : snapshot.usernames()) {
+                tracked.put(entry.key(), entry);
+            }
+            CountMinSketch sketch = ips ? snapshot.ipSketch() : snapshot.usernameSketch();
+            long floor = ips ? snapshot.ipFloor() : snapshot.usernameFloor();
+
+            for (Map.Entry<String, long[]> candidate : bounds.entrySet()) {
+                EntrySnapshot entry = tracked.get(candidate.getKey());
+                long upper = entry != null ? entry.count() : floor;
+                if (upper > 0) {
+                    upper = Math.min(upper, sketch.estimate(candidate.getKey()));
+                }
+                candidate.getValue()[0] += upper;
+                if (entry != null) {
+                    candidate.getValue()[1] += entry.count() - entry.error();
+                }
+            }
+        }
+
+        return bounds.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed())
+                .limit(limit)
+                .map(e -> HeavyHitterResponse.builder()
+                        .value(e.getKey())
+                        .estimatedFailures(e.getValue()[0])
+                        .guaranteedFailures(e.getValue()[1])
+                        .build())
+                .toList();
+    }
+
+    // 이 IP를 추적 중인 구간들의 HyperLogLog 병합
+    private long distinctUsernames(String ipAddress, long oldest, long current) {
+        HyperLogLog merged = new HyperLogLog(properties.getHllPrecision());
+        for (Slice slice : slices) {
+            synchronized (slice) {
+                if (slice.epoch >= oldest && slice.epoch <= current) {
+                    SpaceSaving.Entry<HyperLogLog> entry = slice.ips.get(ipAddress);
+                    if (entry != null) {
+                        merged.merge(entry.getAttachment());
+                    }
+                }
+            }
+        }
+        return merged.estimate();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static final class Slice {
+        private long epoch = Long.MIN_VALUE;
+        private long failures;
+        private final SpaceSaving<HyperLogLog> ips;
+        private final SpaceSaving<Void> usernames;
+        private final CountMinSketch ipSketch;
+        private final CountMinSketch usernameSketch;
+
+        private Slice(LoginAnalyticsProperties properties) {
+            int precision = properties.getHllPrecision();
+            this.ips = new SpaceSaving<>(properties.getCapacity(), () -> new HyperLogLog(precision), HyperLogLog::clear);
+            this.usernames = SpaceSaving.withoutAttachment(properties.getCapacity());
+            this.ipSketch = new CountMinSketch(properties.getSketchDepth(), properties.getSketchWidth());
+            this.usernameSketch = new CountMinSketch(properties.getSketchDepth(), properties.getSketchWidth());
+        }
+
+        // 새 구간이면 비우고 재사용, 이미 지나간 구간의 늦은 기록이면 false
+        private boolean rollTo(long target) {
+            if (target < epoch) {
+                return false;
+            }
+            if (target > epoch) {
+                epoch = target;
+                failures = 0;
+                ips.clear();
+                usernames.clear();
+                ipSketch.clear();
+                usernameSketch.clear();
+            }
+            return true;
+        }
+
+        private SliceSnapshot snapshot() {
+            return new SliceSnapshot(failures, entries(ips), ips.floor(), ipSketch.copy(),
+                    entries(usernames), usernames.floor(), usernameSketch.copy());
+        }
+
+        private static List<EntrySnapshot> entries(SpaceSaving<?> summary) {
+            List<EntrySnapshot> entries = new ArrayList<>(summary.size());
+            for (SpaceSaving.Entry<?> entry : summary.top(summary.size())) {
+                entries.add(new EntrySnapshot(entry.getKey(), entry.getCount(), entry.getError()));
+            }
+            return entries;
+        }
+    }
+
+    private record EntrySnapshot(String key, long count, long error) {
+    }
+
+    private record SliceSnapshot(long failures, List<EntrySnapshot> ips, long ipFloor, CountMinSketch ipSketch,
+                                 List<EntrySnapshot> usernames, long usernameFloor, CountMinSketch usernameSketch) {
+    }
+}
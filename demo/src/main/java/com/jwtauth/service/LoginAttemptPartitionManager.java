@@ -0,0 +1,127 @@
+package com.jwtauth.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.StringJoiner;
+
+/*
+ * MySQL에서 attempt_time 기준 일 단위 RANGE 파티션으로 나뉜 login_attempts 테이블 관리.
+ * 보존 기간이 지난 파티션은 행 단위 DELETE 없이 DROP PARTITION으로 즉시 제거하고, 앞으로 필요한 파티션은 MAXVALUE 파티션을 나눠 미리 만든다.
+ * 테이블 전환은 db/mysql/login_attempts_partitioning.sql로 한 번 수행하며, 파티션이 없는 테이블이나 다른 DB에서는 아무것도 하지 않는다.
+ */
+@Slf4j
+@Component
+public class LoginAttemptPartitionManager {
+
+    // MySQL TO_DAYS('1970-01-01')
+    private static final long TO_DAYS_EPOCH_OFFSET = 719528;
+    private static final String MAXVALUE = "MAXVALUE";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final String PARTITIONS_SQL = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'login_attempts' AND PARTITION_NAME IS NOT NULL "
+            + "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean mysql;
+
+    public LoginAttemptPartitionManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPartitioned() {
+        return isMySql() && !listPartitions().isEmpty();
+    }
+
+    // 상한이 cutoff 이하인 파티션(모든 행이 cutoff 이전)을 삭제
+    public int dropPartitionsBefore(LocalDateTime cutoff) {
+        int dropped = 0;
+        for (Partition partition : listPartitions()) {
+            if (partition.upperBound() != null && !partition.upperBound().atStartOfDay().isAfter(cutoff)) {
+                jdbcTemplate.execute("ALTER TABLE login_attempts DROP PARTITION " + partition.name());
+                log.info("로그인 시도 파티션 삭제: {} (< {})", partition.name(), partition.upperBound());
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    // lastDay까지의 일 단위 파티션이 없으면 생성
+    public int ensurePartitionsUntil(LocalDate lastDay) {
+        List<Partition> partitions = listPartitions();
+        LocalDate coveredUntil = null;
+        String maxValuePartition = null;
+        for (Partition partition : partitions) {
+            if (partition.upperBound() == null) {
+                maxValuePartition = partition.name();
+            } else if (coveredUntil == null || partition.upperBound().isAfter(coveredUntil)) {
+                coveredUntil = partition.upperBound();
+            }
+        }
+        if (coveredUntil == null || coveredUntil.isAfter(lastDay)) {
+            return 0;
+        }
+
+        StringJoiner definitions = new StringJoiner(", ");
+        int created = 0;
+        for (LocalDate day = coveredUntil; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            definitions.add(definition(day));
+            created++;
+        }
+        if (maxValuePartition != null) {
+            // MAXVALUE 파티션은 비어 있는 것이 정상이므로 분할 비용이 거의 없음
+            definitions.add("PARTITION " + maxValuePartition + " VALUES LESS THAN MAXVALUE");
+            jdbcTemplate.execute("ALTER TABLE login_attempts REORGANIZE PARTITION " + maxValuePartition
+                    + " INTO (" + definitions + ")");
+        } else {
+            jdbcTemplate.execute("ALTER TABLE login_attempts ADD PARTITION (" + definitions + ")");
+        }
+        log.info("로그인 시도 파티션 {}개 생성 ({} ~ {})", created, coveredUntil, lastDay);
+        return created;
+    }
+
+    static String definition(LocalDate day) {
+        return "PARTITION " + day.format(PARTITION_NAME) + " VALUES LESS THAN (" + toDays(day.plusDays(1)) + ")";
+    }
+
+    static long toDays(LocalDate day) {
+        return day.toEpochDay() + TO_DAYS_EPOCH_OFFSET;
+    }
+
+    static LocalDate fromDays(long toDays) {
+        return LocalDate.ofEpochDay(toDays - TO_DAYS_EPOCH_OFFSET);
+    }
+
+    private List<Partition> listPartitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> {
+            String description = rs.getString(2);
+            LocalDate upperBound = MAXVALUE.equalsIgnoreCase(description) ? null : fromDays(Long.parseLong(description));
+            return new Partition(rs.getString(1), upperBound);
+        });
+    }
+
+    private boolean isMySql() {
+        if (mysql == null) {
+            try {
+                String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                        connection.getMetaData().getDatabaseProductName());
+                mysql = product != null && product.toLowerCase().contains("mysql");
+            } catch (DataAccessException e) {
+                log.warn("DB 종류 확인 실패: {}", e.getMessage());
+                return false;
+            }
+        }
+        return mysql;
+    }
+
+    // upperBound가 null이면 MAXVALUE 파티션
+    private record Partition(String name, LocalDate upperBound) {
+    }
+}
@@ -0,0 +1,232 @@
+package com.jwtauth.service;
+
+import com.jwtauth.config.LoginAttemptProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 로그인 시도 기록의 시간별 집계와 보존 기간 관리.
+ * 완료된 1시간 구간을 IP별/사용자명별 성공·실패 횟수로 login_attempt_rollups에 한 번씩 집계하고,
+ * 보존 기간이 지났고 집계도 끝난 원본 기록은 제한된 크기의 배치로 삭제한다(MySQL 파티션 테이블이면 파티션 단위로 삭제).
+ * 집계는 같은 구간을 다시 쓰지 않으며, 여러 인스턴스가 같은 구간을 동시에 집계하면 기본 키 충돌로 한쪽이 중단된다.
+ * 한 번 실행에 수십 초가 걸릴 수 있으므로 공용 스케줄러(키 링 갱신, 정리 작업)를 막지 않도록 전용 스레드에서 실행한다.
+ */
+@Slf4j
+@Service
+public class LoginAttemptRetentionService implements SmartInitializingSingleton {
+
+    private static final String LATEST_BUCKET_SQL = "SELECT MAX(bucket_start) FROM login_attempt_rollups";
+    private static final String EARLIEST_ATTEMPT_SQL = "SELECT MIN(attempt_time) FROM login_attempts";
+    private static final String ROLLUP_IP_SQL = "INSERT INTO login_attempt_rollups "
+            + "(bucket_start, dimension, dimension_value, success_count, failure_count) "
+            + "SELECT ?, 'IP', ip_address, SUM(CASE WHEN success = TRUE THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN success = TRUE THEN 0 ELSE 1 END) "
+            + "FROM login_attempts WHERE attempt_time >= ? AND attempt_time < ? GROUP BY ip_address";
+    private static final String ROLLUP_USERNAME_SQL = "INSERT INTO login_attempt_rollups "
+            + "(bucket_start, dimension, dimension_value, success_count, failure_count) "
+            + "SELECT ?, 'USERNAME', username, SUM(CASE WHEN success = TRUE THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN success = TRUE THEN 0 ELSE 1 END) "
+            + "FROM login_attempts WHERE username IS NOT NULL AND attempt_time >= ? AND attempt_time < ? GROUP BY username";
+    private static final String EXPIRED_IDS_SQL = "SELECT id FROM login_attempts WHERE attempt_time < ?";
+    private static final String DELETE_BY_IDS_SQL = "DELETE FROM login_attempts WHERE id IN (:ids)";
+    private static final String PURGE_ROLLUPS_SQL = "DELETE FROM login_attempt_rollups WHERE bucket_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LoginAttemptPartitionManager partitionManager;
+    private final LoginAttemptProperties.Retention retention;
+
+    private final Counter rolledUpHours;
+    private final Counter deletedRaw;
+    private final Counter deletedRollups;
+    private final Counter droppedPartitions;
+
+    private ScheduledExecutorService executor;
+
+    // 이 시각 이전의 완료된 구간은 모두 집계됨 (null이면 아직 집계된 구간 없음)
+    private volatile LocalDateTime rolledUpUntil;
+
+    public LoginAttemptRetentionService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                        LoginAttemptPartitionManager partitionManager,
+                                        LoginAttemptProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.partitionManager = partitionManager;
+        this.retention = properties.getRetention();
+
+        this.rolledUpHours = Counter.builder("login.attempt.rollup.hours").register(meterRegistry);
+        this.deletedRaw = Counter.builder("login.attempt.retention.deleted").tag("target", "raw").register(meterRegistry);
+        this.deletedRollups = Counter.builder("login.attempt.retention.deleted").tag("target", "rollup")
+                .register(meterRegistry);
+        this.droppedPartitions = Counter.builder("login.attempt.retention.partitions.dropped").register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            rolledUpUntil = latestRolledUpHour();
+        } catch (DataAccessException e) {
+            log.warn("로그인 시도 집계 시점 조회 실패: {}", e.getMessage());
+        }
+
+        if (retention.isEnabled() && executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "login-attempt-retention");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::runScheduled, retention.getInterval(), retention.getInterval(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            // 진행 중인 배치는 각자 커밋되므로 중단해도 다음 실행에서 이어서 처리
+            executor.shutdownNow();
+        }
+    }
+
+    public LocalDateTime getRolledUpUntil() {
+        return rolledUpUntil;
+    }
+
+    // spring.loginAttempt.retention.interval마다 전용 스레드에서 실행
+    void runScheduled() {
+        try {
+            run(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            // 예외가 빠져나가면 이후 실행이 모두 취소되므로 기록만 하고 다음 주기에 재시도
+            log.warn("로그인 시도 집계/정리 실패: {}", e.getMessage());
+        }
+    }
+
+    void run(LocalDateTime now) {
+        rollupCompletedHours(now);
+        purgeExpired(now);
+    }
+
+    // 완료된 1시간 구간을 순서대로 집계 - 한 구간은 한 트랜잭션
+    int rollupCompletedHours(LocalDateTime now) {
+        LocalDateTime next = nextHourToRollup(now);
+        if (next == null) {
+            return 0;
+        }
+
+        LocalDateTime lastCompleted = now.minusNanos(retention.getRollupDelay() * 1_000_000).truncatedTo(ChronoUnit.HOURS);
+        int rolled = 0;
+        while (next.isBefore(lastCompleted) && rolled < retention.getMaxRollupHours()) {
+            Timestamp start = Timestamp.valueOf(next);
+            Timestamp end = Timestamp.valueOf(next.plusHours(1));
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(ROLLUP_IP_SQL, start, start, end);
+                jdbcTemplate.update(ROLLUP_USERNAME_SQL, start, start, end);
+            });
+            next = next.plusHours(1);
+            rolledUpUntil = next;
+            rolled++;
+        }
+
+        if (rolled > 0) {
+            rolledUpHours.increment(rolled);
+            log.debug("로그인 시도 {}시간 집계 완료 (~ {})", rolled, next);
+        }
+        return rolled;
+    }
+
+    // 보존 기간이 지난 원본(집계된 구간만)과 집계 삭제
+    int purgeExpired(LocalDateTime now) {
+        int deleted = 0;
+        LocalDateTime watermark = rolledUpUntil;
+        if (watermark != null) {
+            LocalDateTime retentionCutoff = now.minusDays(retention.getRawRetentionDays());
+            LocalDateTime cutoff = watermark.isBefore(retentionCutoff) ? watermark : retentionCutoff;
+            deleted = partitionManager.isPartitioned() ? dropPartitions(now, cutoff) : deleteInBatches(cutoff);
+        }
+
+        int rollups = jdbcTemplate.update(PURGE_ROLLUPS_SQL,
+                Timestamp.valueOf(now.minusDays(retention.getRollupRetentionDays())));
+        if (rollups > 0) {
+            deletedRollups.increment(rollups);
+            log.debug("보존 기간이 지난 로그인 시도 집계 {}건 삭제", rollups);
+        }
+        return deleted;
+    }
+
+    private int dropPartitions(LocalDateTime now, LocalDateTime cutoff) {
+        int dropped = partitionManager.dropPartitionsBefore(cutoff);
+        droppedPartitions.increment(dropped);
+        partitionManager.ensurePartitionsUntil(now.toLocalDate().plusDays(retention.getPartitionAheadDays()));
+        return dropped;
+    }
+
+    // 배치마다 자동 커밋되는 짧은 DELETE로 잠금과 undo 크기를 제한
+    private int deleteInBatches(LocalDateTime cutoff) {
+        Timestamp threshold = Timestamp.valueOf(cutoff);
+        int batchSize = retention.getDeleteBatchSize();
+        int deleted = 0;
+        for (int batch = 0; batch < retention.getMaxDeleteBatches(); batch++) {
+            List<Long> ids = jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPIRED_IDS_SQL);
+                statement.setMaxRows(batchSize);
+                statement.setTimestamp(1, threshold);
+                return statement;
+            }, (rs, rowNum) -> rs.getLong(1));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            int removed = namedParameterJdbcTemplate.update(DELETE_BY_IDS_SQL, new MapSqlParameterSource("ids", ids));
+            deleted += removed;
+            deletedRaw.increment(removed);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (deleted > 0) {
+            log.info("보존 기간이 지난 로그인 시도 {}건 삭제 (< {})", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    // 다음에 집계할 구간 - 다른 인스턴스가 이미 집계한 구간은 건너뜀
+    private LocalDateTime nextHourToRollup(LocalDateTime now) {
+        LocalDateTime latest = latestRolledUpHour();
+        LocalDateTime current = rolledUpUntil;
+        if (latest != null && (current == null || latest.isAfter(current))) {
+            current = latest;
+        }
+        if (current != null) {
+            return current;
+        }
+
+        Timestamp earliest = jdbcTemplate.queryForObject(EARLIEST_ATTEMPT_SQL, Timestamp.class);
+        return earliest != null ? earliest.toLocalDateTime().truncatedTo(ChronoUnit.HOURS) : null;
+    }
+
+    private LocalDateTime latestRolledUpHour() {
+        Timestamp latest = jdbcTemplate.queryForObject(LATEST_BUCKET_SQL, Timestamp.class);
+        return latest != null ? latest.toLocalDateTime().plusHours(1) : null;
+    }
+}
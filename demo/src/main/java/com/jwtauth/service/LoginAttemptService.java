@@ -1,57 +1,196 @@
 package com.jwtauth.service;
 
+import com.jwtauth.dto.response.CursorPageResponse;
+import com.jwtauth.dto.response.LoginActivityCount;
+import com.jwtauth.dto.response.LoginHistoryResponse;
+import com.jwtauth.dto.response.LoginStatisticsResponse;
 import com.jwtauth.entity.LoginAttempt;
+import com.jwtauth.entity.LoginAttemptRollup;
 import com.jwtauth.repository.LoginAttemptRepository;
+import com.jwtauth.repository.LoginAttemptRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class LoginAttemptService {
 
     private final LoginAttemptRepository loginAttemptRepository;
+    private final LoginAttemptWriter loginAttemptWriter;
+    private final FailedLoginCounter failedLoginCounter;
+    private final LoginAnalyticsService loginAnalyticsService;
+    private final LoginAttemptRollupRepository loginAttemptRollupRepository;
+    private final LoginAttemptRetentionService loginAttemptRetentionService;
 
-    @Async
-    public CompletableFuture<Void> recordSuccessfulLogin(String username, String ipAddress, String userAgent) {
-        LoginAttempt attempt = LoginAttempt.createSuccessful(username, ipAddress, userAgent);
-        loginAttemptRepository.save(attempt);
+    private static final int MAX_HISTORY_LIMIT = 500;
+
+    // 기록은 write-behind 대기열에 넣고 배치로 저장 (트랜잭션/DB 연결 없음)
+    public void recordSuccessfulLogin(String username, String ipAddress, String userAgent) {
+        loginAttemptWriter.enqueue(username, ipAddress, userAgent, true, null);
         log.debug("성공적인 로그인 기록: {} from {}", username, ipAddress);
-        return CompletableFuture.completedFuture(null);
     }
 
-    @Async
-    public CompletableFuture<Void> recordFailedLogin(String username, String ipAddress, String userAgent, String reason) {
-        LoginAttempt attempt = LoginAttempt.createFailed(username, ipAddress, userAgent, reason);
-        loginAttemptRepository.save(attempt);
+    public void recordFailedLogin(String username, String ipAddress, String userAgent, String reason) {
+        loginAttemptWriter.enqueue(username, ipAddress, userAgent, false, reason);
+        failedLoginCounter.recordFailure(ipAddress);
+        loginAnalyticsService.recordFailure(username, ipAddress);
         log.warn("실패한 로그인 기록: {} from {} - {}", username, ipAddress, reason);
-        return CompletableFuture.completedFuture(null);
     }
 
+    // 최신순 키셋 페이지 조회 - limit은 쿼리에 포함되고, 다음 페이지 여부 확인을 위해 1건 더 읽음
     @Transactional(readOnly = true)
-    public List<LoginAttempt> getUserLoginHistory(String username, int limit) {
-        List<LoginAttempt> attempts = loginAttemptRepository.findByUsernameOrderByAttemptTimeDesc(username);
-        return attempts.stream().limit(limit).toList();
+    public CursorPageResponse<LoginHistoryResponse> getUserLoginHistory(String username, int limit, String cursor) {
+        if (limit < 1 || limit > MAX_HISTORY_LIMIT) {
+            throw new IllegalArgumentException("조회할 기록 수는 1 이상 " + MAX_HISTORY_LIMIT + " 이하여야 합니다.");
+        }
+
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<LoginHistoryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = loginAttemptRepository.findHistoryByUsername(username, fetchLimit);
+        } else {
+            HistoryCursor position = HistoryCursor.decode(cursor);
+            rows = loginAttemptRepository.findHistoryByUsernameBefore(username, position.attemptTime(),
+                    position.id(), fetchLimit);
+        }
+
+        boolean hasNext = rows.size() > limit;
+        List<LoginHistoryResponse> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? HistoryCursor.encode(content.get(limit - 1)) : null;
+        return CursorPageResponse.<LoginHistoryResponse>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    @Transactional(readOnly = true)
+    // 메모리의 IP별 분 단위 카운터로 판단 (DB 조회 없음)
     public boolean isIpSuspicious(String ipAddress) {
-        LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-        long failedAttempts = loginAttemptRepository.countFailedAttemptsByIpSince(ipAddress, oneHourAgo);
+        int failedAttempts = failedLoginCounter.countRecentFailures(ipAddress);
         return failedAttempts >= 10; // 1시간 내 10회 이상 실패 시 의심스러운 IP로 판단
     }
 
+    // 내보내기 - 커서로 읽으며 한 건씩 전달 (결과 목록을 만들지 않음)
+    @Transactional(readOnly = true)
+    public void exportFailedAttempts(int hours, Consumer<? super LoginHistoryResponse> sink) {
+        LocalDateTime now = LocalDateTime.now();
+        try (Stream<LoginHistoryResponse> attempts =
+                     loginAttemptRepository.streamFailedAttemptsBetween(now.minusHours(hours), now)) {
+            attempts.forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportUserLoginHistory(String username, Consumer<? super LoginHistoryResponse> sink) {
+        try (Stream<LoginHistoryResponse> attempts = loginAttemptRepository.streamHistoryByUsername(username)) {
+            attempts.forEach(sink);
+        }
+    }
+
     @Transactional(readOnly = true)
     public List<LoginAttempt> getSuspiciousActivities(int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
         return loginAttemptRepository.findFailedAttemptsBetween(since, LocalDateTime.now());
     }
+
+    /*
+     * 최근 hours시간의 로그인 통계.
+     * 집계가 끝난 구간은 시간별 집계에서, 아직 집계되지 않은 최근 구간만 원본 기록에서 읽는다.
+     * 상위 목록은 두 구간의 상위 limit개씩을 합쳐 정렬하므로 경계에 걸친 항목은 근사값일 수 있다.
+     */
+    @Transactional(readOnly = true)
+    public LoginStatisticsResponse getLoginStatistics(int hours, int limit) {
+        if (hours < 1 || limit < 1 || limit > MAX_HISTORY_LIMIT) {
+            throw new IllegalArgumentException("조회 시간은 1 이상, 목록 크기는 1 이상 " + MAX_HISTORY_LIMIT + " 이하여야 합니다.");
+        }
+
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minusHours(hours).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime rolledUpUntil = loginAttemptRetentionService.getRolledUpUntil();
+        LocalDateTime split = rolledUpUntil == null || rolledUpUntil.isBefore(from) ? from
+                : rolledUpUntil.isAfter(to) ? to : rolledUpUntil;
+
+        LoginActivityCount totals = new LoginActivityCount("ALL", 0L, 0L);
+        List<LoginActivityCount> topIps = new ArrayList<>();
+        List<LoginActivityCount> topUsernames = new ArrayList<>();
+        Limit topLimit = Limit.of(limit);
+        if (split.isAfter(from)) {
+            merge(totals, loginAttemptRollupRepository.sumBetween(from, split));
+            topIps.addAll(loginAttemptRollupRepository.findTopFailedBetween(
+                    LoginAttemptRollup.Dimension.IP, from, split, topLimit));
+            topUsernames.addAll(loginAttemptRollupRepository.findTopFailedBetween(
+                    LoginAttemptRollup.Dimension.USERNAME, from, split, topLimit));
+        }
+        if (to.isAfter(split)) {
+            merge(totals, loginAttemptRepository.sumBetween(split, to));
+            topIps.addAll(loginAttemptRepository.findTopFailedIpsBetween(split, to, topLimit));
+            topUsernames.addAll(loginAttemptRepository.findTopFailedUsernamesBetween(split, to, topLimit));
+        }
+
+        return LoginStatisticsResponse.builder()
+                .from(from)
+                .to(to)
+                .rolledUpUntil(split)
+                .successCount(totals.getSuccessCount())
+                .failureCount(totals.getFailureCount())
+                .topFailedIps(combineTop(topIps, limit))
+                .topFailedUsernames(combineTop(topUsernames, limit))
+                .build();
+    }
+
+    private static void merge(LoginActivityCount target, LoginActivityCount source) {
+        if (source != null) {
+            target.setSuccessCount(target.getSuccessCount() + source.getSuccessCount());
+            target.setFailureCount(target.getFailureCount() + source.getFailureCount());
+        }
+    }
+
+    private static List<LoginActivityCount> combineTop(List<LoginActivityCount> counts, int limit) {
+        Map<String, LoginActivityCount> combined = new LinkedHashMap<>();
+        for (LoginActivityCount count : counts) {
+            merge(combined.computeIfAbsent(count.getValue(), value -> new LoginActivityCount(value, 0L, 0L)), count);
+        }
+        return combined.values().stream()
+                .sorted(Comparator.comparingLong(LoginActivityCount::getFailureCount).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    // 마지막 기록의 (attemptTime, id)를 base64url 문자열로 감싼 커서
+    private record HistoryCursor(LocalDateTime attemptTime, Long id) {
+
+        private static String encode(LoginHistoryResponse last) {
+            String raw = last.getTimestamp() + "_" + last.getId();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static HistoryCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('_');
+                return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+        }
+    }
 }
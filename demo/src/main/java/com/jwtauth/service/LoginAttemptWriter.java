@@ -0,0 +1,175 @@
+package com.jwtauth.service;
+
+import com.jwtauth.config.LoginAttemptProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 로그인 시도 기록의 write-behind 파이프라인.
+ * 호출 스레드는 고정 크기 대기열에 넣기만 하고, 전용 스레드가 batchSize건 또는 flushInterval마다 JDBC 배치 INSERT로 저장한다.
+ * 대기열이 가득 차면 overflowPolicy에 따라 버리거나(DROP) 잠시 기다린 뒤 버리며(BLOCK), 종료 시 남은 기록을 모두 저장한다.
+ */
+@Slf4j
+@Component
+public class LoginAttemptWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO login_attempts "
+            + "(username, ip_address, user_agent, success, failure_reason, attempt_time) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArrayBlockingQueue<PendingAttempt> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final LoginAttemptProperties.OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private final Counter written;
+    private final Counter droppedOverflow;
+    private final Counter droppedError;
+    private final Timer flushTimer;
+
+    public LoginAttemptWriter(JdbcTemplate jdbcTemplate, LoginAttemptProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushInterval());
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.blockTimeoutMillis = properties.getBlockTimeout();
+
+        this.written = Counter.builder("login.attempt.written").register(meterRegistry);
+        this.droppedOverflow = Counter.builder("login.attempt.dropped").tag("reason", "overflow").register(meterRegistry);
+        this.droppedError = Counter.builder("login.attempt.dropped").tag("reason", "error").register(meterRegistry);
+        this.flushTimer = Timer.builder("login.attempt.flush").register(meterRegistry);
+        Gauge.builder("login.attempt.queue.size", queue, ArrayBlockingQueue::size).register(meterRegistry);
+        // 가장 오래 기다린 기록의 대기 시간 (저장 지연)
+        TimeGauge.builder("login.attempt.write.lag", this, TimeUnit.NANOSECONDS, LoginAttemptWriter::lagNanos)
+                .register(meterRegistry);
+
+        this.writerThread = new Thread(this::run, "login-attempt-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    // 대기열에 추가 - 저장은 비동기, 넣지 못하면 false
+    public boolean enqueue(String username, String ipAddress, String userAgent, boolean success, String failureReason) {
+        PendingAttempt attempt = new PendingAttempt(truncate(username, 50), truncate(ipAddress, 45),
+                truncate(userAgent, 500), success, truncate(failureReason, 200), LocalDateTime.now(), System.nanoTime());
+
+        boolean accepted = running && offer(attempt);
+        if (!accepted) {
+            droppedOverflow.increment();
+        }
+        return accepted;
+    }
+
+    private boolean offer(PendingAttempt attempt) {
+        if (overflowPolicy == LoginAttemptProperties.OverflowPolicy.DROP) {
+            return queue.offer(attempt);
+        }
+        try {
+            return queue.offer(attempt, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<PendingAttempt> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // 종료 중 - 모은 기록은 저장하고 남은 대기열은 다음 반복에서 비움
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // 첫 기록이 들어온 뒤 batchSize건이 차거나 flushInterval이 지날 때까지 모음
+    private void collect(List<PendingAttempt> batch) throws InterruptedException {
+        PendingAttempt first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = first.enqueuedAt + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            PendingAttempt next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingAttempt> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, attempt) -> {
+                ps.setString(1, attempt.username);
+                ps.setString(2, attempt.ipAddress);
+                ps.setString(3, attempt.userAgent);
+                ps.setBoolean(4, attempt.success);
+                ps.setString(5, attempt.failureReason);
+                ps.setTimestamp(6, Timestamp.valueOf(attempt.attemptTime));
+            });
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            droppedError.increment(batch.size());
+            log.error("로그인 시도 기록 {}건 저장 실패: {}", batch.size(), e.getMessage());
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private double lagNanos() {
+        PendingAttempt oldest = queue.peek();
+        return oldest != null ? System.nanoTime() - oldest.enqueuedAt : 0;
+    }
+
+    // 남은 기록을 모두 저장한 뒤 종료
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        if (writerThread.isAlive()) {
+            log.warn("로그인 시도 기록 저장 스레드가 제한 시간 내에 종료되지 않았습니다 (대기 {}건)", queue.size());
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private record PendingAttempt(String username, String ipAddress, String userAgent, boolean success,
+                                  String failureReason, LocalDateTime attemptTime, long enqueuedAt) {
+    }
+}
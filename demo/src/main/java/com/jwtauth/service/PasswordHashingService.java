@@ -0,0 +1,133 @@
+package com.jwtauth.service;
+
+import com.jwtauth.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+ * BCrypt 해시/검증 전용 실행기.
+ * 코어 수만큼의 스레드와 고정 길이 대기열로 CPU 사용량을 제한하고, 대기열이 가득 차면 즉시 TaskRejectedException으로 거부한다.
+ * 결과는 애플리케이션 작업 실행기에서 완료시키므로, 호출자가 이어 붙인 DB 작업이 해시 스레드를 점유하지 않는다.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final Executor completionExecutor;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final long maxQueueWaitNanos;
+
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Timer waitTimer;
+    private final Counter queueFullRejections;
+    private final Counter expiredRejections;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, PasswordHashingProperties properties,
+                                  @Qualifier("applicationTaskExecutor") Executor completionExecutor,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.completionExecutor = completionExecutor;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMaxQueueWait());
+
+        int threads = properties.resolveThreads();
+        AtomicInteger sequence = new AtomicInteger();
+        this.hashingExecutor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashingExecutor.prestartAllCoreThreads();
+
+        this.matchesTimer = Timer.builder("password.hash.duration").tag("operation", "matches").register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hash.duration").tag("operation", "encode").register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hash.wait").register(meterRegistry);
+        this.queueFullRejections = Counter.builder("password.hash.rejected").tag("reason", "queue_full").register(meterRegistry);
+        this.expiredRejections = Counter.builder("password.hash.rejected").tag("reason", "expired").register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", hashingExecutor, executor -> executor.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", hashingExecutor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("BCrypt 전용 실행기 시작: 스레드 {}개, 대기열 {}", threads, properties.getQueueCapacity());
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword), encodeTimer);
+    }
+
+    // 저장된 해시가 현재 형식/강도보다 오래된 경우 true (해시 계산 없음)
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    // 대기열이 가득 차면 호출 스레드에서 바로 TaskRejectedException
+    private <T> CompletableFuture<T> submit(Supplier<T> task, Timer hashTimer) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+        try {
+            hashingExecutor.execute(() -> {
+                long waited = System.nanoTime() - enqueuedAt;
+                waitTimer.record(waited, TimeUnit.NANOSECONDS);
+                if (waited > maxQueueWaitNanos) {
+                    expiredRejections.increment();
+                    complete(result, null, new TaskRejectedException("비밀번호 처리 대기 시간이 초과되었습니다."));
+                    return;
+                }
+
+                T value;
+                try {
+                    value = hashTimer.record(task);
+                } catch (RuntimeException e) {
+                    complete(result, null, e);
+                    return;
+                }
+                complete(result, value, null);
+            });
+        } catch (RejectedExecutionException e) {
+            queueFullRejections.increment();
+            throw new TaskRejectedException("비밀번호 처리 대기열이 가득 찼습니다.", e);
+        }
+        return result;
+    }
+
+    private <T> void complete(CompletableFuture<T> result, T value, Throwable failure) {
+        Runnable completion = failure != null ? () -> result.completeExceptionally(failure) : () -> result.complete(value);
+        try {
+            completionExecutor.execute(completion);
+        } catch (RuntimeException e) {
+            // 완료 실행기가 포화된 경우에도 결과는 전달
+            completion.run();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+}
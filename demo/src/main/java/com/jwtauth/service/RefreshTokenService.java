@@ -8,7 +8,6 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -25,7 +24,8 @@ public class RefreshTokenService {
         this.jwtTokenUtil = jwtTokenUtil;
     }
 
-    public void saveRefreshToken(String token, String username, HttpServletRequest request) {
+    // 요청 스레드에서 미리 읽어 둔 값을 받음 (비동기 후속 처리에서 요청 객체는 이미 재사용되었을 수 있음)
+    public void saveRefreshToken(String token, String username, String clientIp, String userAgent) {
         LocalDateTime expiryDate = LocalDateTime.now().plusDays(7); // 7일 만료
 
         RefreshToken refreshToken = RefreshToken.builder()
@@ -33,8 +33,8 @@ public class RefreshTokenService {
                 .username(username)
                 .expiryDate(expiryDate)
                 .revoked(false)
-                .userAgent(request.getHeader("User-Agent"))
-                .ipAddress(getClientIpAddress(request))
+                .userAgent(userAgent)
+                .ipAddress(clientIp)
                 .build();
 
         refreshTokenRepository.save(refreshToken);
@@ -89,18 +89,4 @@ public class RefreshTokenService {
             log.info("만료된 RefreshToken {} 개 무효화", revokedCount);
         }
     }
-
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
-        return request.getRemoteAddr();
-    }
 }
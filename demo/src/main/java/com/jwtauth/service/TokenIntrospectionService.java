@@ -0,0 +1,122 @@
+package com.jwtauth.service;
+
+import com.jwtauth.dto.response.TokenIntrospectionResponse;
+import com.jwtauth.repository.RefreshTokenRepository;
+import com.jwtauth.security.AccessTokenDenylist;
+import com.jwtauth.security.JwtProperties;
+import com.jwtauth.security.JwtTokenUtil;
+import com.jwtauth.security.PhantomTokenStore;
+import com.jwtauth.security.SecurityEpochService;
+import com.jwtauth.security.VerifiedToken;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionService {
+
+    private final JwtTokenUtil jwtTokenUtil;
+    private final SecurityEpochService securityEpochService;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final PhantomTokenStore phantomTokenStore;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtProperties jwtProperties;
+
+    public IntrospectionResult introspect(List<String> tokens) {
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("조회할 토큰이 없습니다.");
+        }
+        int maxBatchSize = jwtProperties.getIntrospection().getMaxBatchSize();
+        if (tokens.size() > maxBatchSize) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 토큰은 최대 " + maxBatchSize + "개입니다.");
+        }
+
+        // 서명 검증은 CPU 작업이므로 일괄 요청은 병렬로 처리 (결과 순서는 요청 순서 유지)
+        // 트랜잭션 밖에서 실행해 검증 동안 DB 커넥션을 잡지 않음
+        Stream<String> stream = tokens.size() > 1 ? tokens.parallelStream() : tokens.stream();
+        List<VerifiedToken> verifiedTokens = stream
+                .map(token -> resolve(token).orElse(null))
+                .toList();
+
+        Set<String> activeRefreshTokens = findActiveRefreshTokens(tokens, verifiedTokens);
+
+        long now = System.currentTimeMillis();
+        long maxAgeSeconds = jwtProperties.getIntrospection().getMaxCacheSeconds();
+        List<TokenIntrospectionResponse> responses = new ArrayList<>(tokens.size());
+
+        for (int i = 0; i < tokens.size(); i++) {
+            VerifiedToken verifiedToken = verifiedTokens.get(i);
+            if (!isActive(tokens.get(i), verifiedToken, activeRefreshTokens)) {
+                responses.add(TokenIntrospectionResponse.inactive());
+                continue;
+            }
+
+            // 캐시 수명은 가장 먼저 만료되는 활성 토큰의 남은 시간을 넘지 않음
+            maxAgeSeconds = Math.min(maxAgeSeconds, verifiedToken.getRemainingTime(now) / 1000);
+            responses.add(toResponse(verifiedToken));
+        }
+
+        return new IntrospectionResult(responses, maxAgeSeconds);
+    }
+
+    private Optional<VerifiedToken> resolve(String token) {
+        if (phantomTokenStore.isOpaqueToken(token)) {
+            return phantomTokenStore.resolve(token);
+        }
+        return jwtTokenUtil.verify(token);
+    }
+
+    private boolean isActive(String token, VerifiedToken verifiedToken, Set<String> activeRefreshTokens) {
+        if (verifiedToken == null) {
+            return false;
+        }
+        if (verifiedToken.isRefreshToken()) {
+            return activeRefreshTokens.contains(token);
+        }
+        return verifiedToken.isAccessToken()
+                && securityEpochService.isCurrent(verifiedToken)
+                && !accessTokenDenylist.isRevoked(verifiedToken);
+    }
+
+    // 리프레시 토큰의 폐기 여부는 한 번의 IN 쿼리로 확인
+    private Set<String> findActiveRefreshTokens(List<String> tokens, List<VerifiedToken> verifiedTokens) {
+        List<String> refreshTokens = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            VerifiedToken verifiedToken = verifiedTokens.get(i);
+            if (verifiedToken != null && verifiedToken.isRefreshToken()) {
+                refreshTokens.add(tokens.get(i));
+            }
+        }
+
+        if (refreshTokens.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(refreshTokenRepository.findActiveTokenValues(refreshTokens, LocalDateTime.now()));
+    }
+
+    private TokenIntrospectionResponse toResponse(VerifiedToken verifiedToken) {
+        return TokenIntrospectionResponse.builder()
+                .active(true)
+                .sub(verifiedToken.getSubject())
+                .role(verifiedToken.getRole())
+                .jti(verifiedToken.getJwtId())
+                .tokenType(verifiedToken.getTokenType().name())
+                .iat(verifiedToken.getIssuedAtMillis() / 1000)
+                .exp(verifiedToken.getExpirationMillis() / 1000)
+                .build();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class IntrospectionResult {
+        private final List<TokenIntrospectionResponse> responses;
+        private final long maxAgeSeconds;
+    }
+}
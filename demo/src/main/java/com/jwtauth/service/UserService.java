@@ -8,6 +8,7 @@ import com.jwtauth.dto.response.UserResponse;
 import com.jwtauth.entity.User;
 import com.jwtauth.repository.RefreshTokenRepository;
 import com.jwtauth.repository.UserRepository;
+import com.jwtauth.security.SecurityEpochService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -23,19 +24,27 @@ import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @Transactional(readOnly = true)
 public class UserService {
 
+    // IN 절 하나에 넣을 최대 사용자 수
+    private static final int DISABLE_CHUNK = 500;
+
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final SecurityEpochService securityEpochService;
 
-    public UserService(UserRepository userRepository, RefreshTokenRepository refreshTokenRepository) {
+    public UserService(UserRepository userRepository, RefreshTokenRepository refreshTokenRepository,
+                       SecurityEpochService securityEpochService) {
         this.userRepository = userRepository;
         this.refreshTokenRepository = refreshTokenRepository;
+        this.securityEpochService = securityEpochService;
     }
 
     public UserProfileResponse getUserProfile(String username) {
@@ -142,6 +151,13 @@ public class UserService {
                 .build();
 
         userRepository.save(updatedUser);
+
+        // 역할이나 계정 상태가 바뀌면 기존 Access Token의 클레임이 더 이상 유효하지 않음
+        if (updatedUser.getRole() != user.getRole()
+                || !updatedUser.getEnabled().equals(user.getEnabled())
+                || !updatedUser.getAccountNonLocked().equals(user.getAccountNonLocked())) {
+            securityEpochService.revokeIssuedTokens(username);
+        }
         log.info("사용자 정보 업데이트: {}", username);
     }
 
@@ -152,6 +168,7 @@ public class UserService {
 
         // 관련된 RefreshToken도 모두 삭제
         refreshTokenRepository.revokeAllUserTokens(username);
+        securityEpochService.revokeIssuedTokens(username);
         userRepository.delete(user);
         log.info("사용자 삭제: {}", username);
     }
@@ -175,6 +192,7 @@ public class UserService {
         userRepository.save(user);
         // 모든 토큰 무효화
         refreshTokenRepository.revokeAllUserTokens(username);
+        securityEpochService.revokeIssuedTokens(username);
         log.info("사용자 계정 비활성화: {}", username);
     }
 
@@ -187,6 +205,7 @@ public class UserService {
         userRepository.save(user);
         // 모든 토큰 무효화
         refreshTokenRepository.revokeAllUserTokens(username);
+        securityEpochService.revokeIssuedTokens(username);
         log.info("사용자 계정 잠금: {}", username);
     }
 
@@ -208,10 +227,26 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    // 커서로 읽으며 한 건씩 전달 (결과 목록을 만들지 않음)
+    public void exportInactiveUsers(int days, Consumer<? super UserResponse> sink) {
+        LocalDateTime threshold = LocalDateTime.now().minusDays(days);
+        try (Stream<UserResponse> users = userRepository.streamInactiveUsers(threshold)) {
+            users.forEach(sink);
+        }
+    }
+
     @Transactional
     public int disableInactiveUsers(int days) {
         LocalDateTime threshold = LocalDateTime.now().minusDays(days);
-        return userRepository.disableInactiveUsers(threshold);
+        // 대상 사용자를 먼저 조회해 다른 비활성화 경로처럼 기존 Access Token도 무효화
+        List<String> usernames = userRepository.findInactiveEnabledUsernames(threshold);
+        int disabled = 0;
+        for (int from = 0; from < usernames.size(); from += DISABLE_CHUNK) {
+            List<String> chunk = usernames.subList(from, Math.min(from + DISABLE_CHUNK, usernames.size()));
+            disabled += userRepository.disableInactiveUsers(chunk, threshold);
+        }
+        usernames.forEach(securityEpochService::revokeIssuedTokens);
+        return disabled;
     }
 
     private UserResponse convertToUserResponse(User user) {
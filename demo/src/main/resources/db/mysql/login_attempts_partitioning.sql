@@ -0,0 +1,18 @@
+-- login_attempts를 attempt_time 기준 일 단위 RANGE 파티션 테이블로 전환 (MySQL 8, 1회 실행)
+-- 전환 후에는 LoginAttemptRetentionService가 보존 기간이 지난 파티션을 DROP PARTITION으로 삭제하고,
+-- pmax를 분할해 spring.login-attempt.retention.partitionAheadDays만큼 앞선 파티션을 미리 만든다.
+-- 파티션 키는 모든 고유 키에 포함되어야 하므로 기본 키를 (id, attempt_time)으로 바꾼다.
+-- 첫 파티션 경계는 현재 보관 중인 가장 오래된 날짜에 맞춰 조정한다 (아래 예시는 2024-01-01 이전 전체).
+
+ALTER TABLE login_attempts
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, attempt_time);
+
+ALTER TABLE login_attempts
+    PARTITION BY RANGE (TO_DAYS(attempt_time)) (
+        PARTITION p20231231 VALUES LESS THAN (TO_DAYS('2024-01-01')),
+        PARTITION pmax VALUES LESS THAN MAXVALUE
+    );
+
+-- 현재 날짜까지의 일 단위 파티션은 애플리케이션이 다음 정리 주기에 pmax를 분할해 생성한다.
+-- 운영 중인 대용량 테이블은 온라인 스키마 변경 도구로 새 테이블을 만든 뒤 교체하는 방식을 권장한다.
@@ -0,0 +1,94 @@
+package com.jwtauth.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingSketchesTest {
+
+    @Test
+    void spaceSavingKeepsHeavyHittersWithinErrorBounds() {
+        SpaceSaving<Void> summary = SpaceSaving.withoutAttachment(50);
+        Map<String, Integer> actual = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // 5개의 무거운 키 + 긴 꼬리
+            String key = random.nextInt(10) < 3 ? "heavy-" + random.nextInt(5) : "tail-" + random.nextInt(20_000);
+            summary.offer(key);
+            actual.merge(key, 1, Integer::sum);
+        }
+
+        List<SpaceSaving.Entry<Void>> top = summary.top(5);
+        assertEquals(5, top.size());
+        for (SpaceSaving.Entry<Void> entry : top) {
+            assertTrue(entry.getKey().startsWith("heavy-"), entry.getKey());
+            int count = actual.get(entry.getKey());
+            assertTrue(entry.getCount() >= count);
+            assertTrue(entry.getCount() - entry.getError() <= count);
+        }
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getCount() >= top.get(i).getCount());
+        }
+        assertEquals(50, summary.size());
+        assertTrue(summary.floor() > 0);
+    }
+
+    @Test
+    void spaceSavingResetsAttachmentOnReplacement() {
+        SpaceSaving<HyperLogLog> summary = new SpaceSaving<>(1, () -> new HyperLogLog(4), HyperLogLog::clear);
+        summary.offer("a").getAttachment().add("user");
+        SpaceSaving.Entry<HyperLogLog> replaced = summary.offer("b");
+
+        assertEquals("b", replaced.getKey());
+        assertEquals(2, replaced.getCount());
+        assertEquals(1, replaced.getError());
+        assertEquals(0, replaced.getAttachment().estimate());
+        assertNull(summary.get("a"));
+    }
+
+    @Test
+    void countMinNeverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        Map<String, Integer> actual = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            String key = "ip-" + random.nextInt(2_000);
+            sketch.add(key);
+            actual.merge(key, 1, Integer::sum);
+        }
+
+        long overestimated = 0;
+        for (Map.Entry<String, Integer> entry : actual.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertTrue(estimate >= entry.getValue());
+            // 오차 상한 2N / width
+            if (estimate - entry.getValue() > 2 * 20_000 / 256) {
+                overestimated++;
+            }
+        }
+        assertTrue(overestimated < actual.size() / 10, "overestimated=" + overestimated);
+        assertEquals(20_000, sketch.total());
+    }
+
+    @Test
+    void hyperLogLogEstimatesDistinctCount() {
+        HyperLogLog small = new HyperLogLog(10);
+        for (int i = 0; i < 30; i++) {
+            small.add("user-" + (i % 15));
+        }
+        assertEquals(15, small.estimate(), 1);
+
+        HyperLogLog left = new HyperLogLog(10);
+        HyperLogLog right = new HyperLogLog(10);
+        for (int i = 0; i < 50_000; i++) {
+            (i % 2 == 0 ? left : right).add("user-" + i);
+        }
+        left.merge(right);
+        assertEquals(50_000, left.estimate(), 50_000 * 0.1);
+    }
+}
@@ -0,0 +1,42 @@
+package com.jwtauth.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordConfigTest {
+
+    @Test
+    void calibratedStrengthStaysWithinBounds() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setMinStrength(4);
+        properties.setMaxStrength(6);
+
+        properties.setTargetHashMillis(0);
+        assertEquals(4, PasswordConfig.calibrateStrength(properties));
+
+        properties.setTargetHashMillis(60000);
+        assertEquals(6, PasswordConfig.calibrateStrength(properties));
+    }
+
+    @Test
+    void legacyAndWeakerHashesMatchAndAreMarkedForUpgrade() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setStrength(5);
+        PasswordEncoder passwordEncoder = new PasswordConfig().passwordEncoder(properties);
+
+        String current = passwordEncoder.encode("secret");
+        String legacy = new BCryptPasswordEncoder(5).encode("secret");
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(current.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(passwordEncoder.matches("secret", current));
+        assertTrue(passwordEncoder.matches("secret", legacy));
+        assertTrue(passwordEncoder.matches("secret", weaker));
+        assertFalse(passwordEncoder.upgradeEncoding(current));
+        assertTrue(passwordEncoder.upgradeEncoding(legacy));
+        assertTrue(passwordEncoder.upgradeEncoding(weaker));
+    }
+}
@@ -0,0 +1,111 @@
+package com.jwtauth.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 내보내기 응답이 한 줄에 한 건씩, 요청 범위의 기록만 순서대로 스트리밍되는지 확인
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admin-export-test",
+        "spring.export.flushEvery=7"
+})
+@ActiveProfiles("test")
+@WithMockUser(username = "export-admin", roles = "ADMIN")
+class AdminExportTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void exportsFailedAttemptsInTimeOrder() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 20; i++) {
+            insert("export-user", now.minusMinutes(100 - i), false);
+        }
+        insert("export-user", now.minusMinutes(30), true);
+        insert("export-user", now.minusHours(30), false);
+
+        List<JsonNode> rows = export("/api/admin/security/login-attempts/export?hours=24");
+
+        assertEquals(20, rows.size());
+        for (int i = 1; i < rows.size(); i++) {
+            assertFalse(rows.get(i).get("successful").asBoolean());
+            assertTrue(rows.get(i).get("id").asLong() > rows.get(i - 1).get("id").asLong());
+        }
+    }
+
+    @Test
+    void exportsUserHistoryNewestFirst() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 15; i++) {
+            insert("history-export-user", base.plusMinutes(i), i % 3 == 0);
+        }
+        insert("someone-else", base, false);
+
+        List<JsonNode> rows = export("/api/admin/security/user-history/history-export-user/export");
+
+        assertEquals(15, rows.size());
+        assertEquals("history-export-user", rows.get(0).get("username").asText());
+        assertTrue(rows.get(2).get("successful").asBoolean());
+        for (int i = 1; i < rows.size(); i++) {
+            assertTrue(rows.get(i).get("id").asLong() < rows.get(i - 1).get("id").asLong());
+        }
+    }
+
+    private List<JsonNode> export(String uri) throws Exception {
+        MvcResult started = mockMvc.perform(get(uri))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        List<JsonNode> rows = new ArrayList<>();
+        String body = result.getResponse().getContentAsString();
+        for (String line : body.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertTrue(body.endsWith("\n"));
+        return rows;
+    }
+
+    private void insert(String username, LocalDateTime attemptTime, boolean success) {
+        jdbcTemplate.update("INSERT INTO login_attempts (username, ip_address, success, attempt_time) VALUES (?, ?, ?, ?)",
+                username, "10.0.0.2", success, Timestamp.valueOf(attemptTime));
+    }
+}
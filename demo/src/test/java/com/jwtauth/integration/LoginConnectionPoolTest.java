@@ -0,0 +1,84 @@
+package com.jwtauth.integration;
+
+import com.jwtauth.dto.request.LoginRequest;
+import com.jwtauth.dto.response.TokenResponse;
+import com.jwtauth.service.AuthService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 로그인 폭주 중에도 BCrypt 검증 동안에는 DB 연결을 잡지 않는지 확인
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:login-pool-test",
+        "spring.password-hashing.strength=10",
+        "spring.password-hashing.max-queue-wait=60000",
+        "spring.rate-limit.login.subnet.limit=1000",
+        "spring.rate-limit.login.username.limit=1000"
+})
+@ActiveProfiles("test")
+class LoginConnectionPoolTest {
+
+    private static final int STORM_SIZE = 32;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private ThreadPoolTaskExecutor completionExecutor;
+
+    @Test
+    void connectionsStayFlatWhilePasswordsAreHashed() throws Exception {
+        HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+
+        List<CompletableFuture<TokenResponse>> logins = new ArrayList<>();
+        for (int i = 0; i < STORM_SIZE; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+            request.setRemoteAddr("10.0." + i + ".1");
+            logins.add(authService.login(new LoginRequest("user", "user123"), request));
+        }
+
+        // 조회 단계가 끝난 뒤 남은 것은 해시 대기/실행과 짧은 쓰기 트랜잭션뿐
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger peakActive = new AtomicInteger();
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                peakActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                LockSupport.parkNanos(100_000);
+            }
+        });
+        sampler.start();
+
+        CompletableFuture.allOf(logins.toArray(CompletableFuture[]::new)).get(120, TimeUnit.SECONDS);
+        running.set(false);
+        sampler.join();
+
+        for (CompletableFuture<TokenResponse> login : logins) {
+            assertNotNull(login.join().getAccessToken());
+        }
+        // 해시 중 연결을 잡고 있었다면 동시 로그인 수만큼(풀 크기까지) 사용됨
+        assertTrue(peakActive.get() <= completionExecutor.getCorePoolSize(),
+                "peak active connections: " + peakActive.get());
+        assertTrue(peakActive.get() < STORM_SIZE / 2, "peak active connections: " + peakActive.get());
+    }
+}
@@ -0,0 +1,78 @@
+package com.jwtauth.integration;
+
+import com.jwtauth.dto.response.CursorPageResponse;
+import com.jwtauth.dto.response.LoginHistoryResponse;
+import com.jwtauth.service.LoginAttemptService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 키셋 페이지가 같은 시각의 기록까지 빠짐없이, 중복 없이 최신순으로 이어지는지 확인
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:login-history-test")
+@ActiveProfiles("test")
+class LoginHistoryPaginationTest {
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesThroughHistoryNewestFirst() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 10; i++) {
+            // 두 건씩 같은 시각으로 기록
+            insert("history-user", base.plusMinutes(i / 2), i % 2 == 0);
+        }
+        insert("other-user", base.plusHours(1), true);
+
+        List<LoginHistoryResponse> collected = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageResponse<LoginHistoryResponse> page = loginAttemptService.getUserLoginHistory("history-user", 3, cursor);
+            collected.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            assertEquals(page.isHasNext(), cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(4, pages);
+        assertEquals(10, collected.size());
+        assertEquals(10, collected.stream().map(LoginHistoryResponse::getId).distinct().count());
+        for (int i = 1; i < collected.size(); i++) {
+            LoginHistoryResponse previous = collected.get(i - 1);
+            LoginHistoryResponse current = collected.get(i);
+            assertEquals("history-user", current.getUsername());
+            assertFalse(current.getTimestamp().isAfter(previous.getTimestamp()));
+            if (current.getTimestamp().equals(previous.getTimestamp())) {
+                assertTrue(current.getId() < previous.getId());
+            }
+        }
+    }
+
+    @Test
+    void rejectsInvalidCursorAndLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> loginAttemptService.getUserLoginHistory("history-user", 10, "not-a-cursor"));
+        assertThrows(IllegalArgumentException.class,
+                () -> loginAttemptService.getUserLoginHistory("history-user", 0, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> loginAttemptService.getUserLoginHistory("history-user", 501, null));
+    }
+
+    private void insert(String username, LocalDateTime attemptTime, boolean success) {
+        jdbcTemplate.update("INSERT INTO login_attempts (username, ip_address, success, attempt_time) VALUES (?, ?, ?, ?)",
+                username, "10.0.0.1", success, Timestamp.valueOf(attemptTime));
+    }
+}
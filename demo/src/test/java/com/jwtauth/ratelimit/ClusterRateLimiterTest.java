@@ -0,0 +1,128 @@
+package com.jwtauth.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterRateLimiterTest {
+
+    private static final int LIMIT = 10;
+    private static final long WINDOW = TimeUnit.MINUTES.toMillis(15);
+
+    @Test
+    void nodesSharingMemoryBackendStayWithinBoundedError() {
+        assertGlobalLimit(new InMemoryRateLimitBackend());
+    }
+
+    @Test
+    void nodesSharingJdbcBackendStayWithinBoundedError() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+            jdbcTemplate.execute("CREATE TABLE rate_limit_counters (window_start BIGINT NOT NULL, "
+                    + "counter_key VARCHAR(100) NOT NULL, attempts BIGINT NOT NULL, PRIMARY KEY (window_start, counter_key))");
+            assertGlobalLimit(new JdbcRateLimitBackend(jdbcTemplate));
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void resetClearsGlobalCount() {
+        InMemoryRateLimitBackend backend = new InMemoryRateLimitBackend();
+        ClusterRateLimiter node1 = new ClusterRateLimiter(backend, LIMIT, WINDOW, 1000);
+        ClusterRateLimiter node2 = new ClusterRateLimiter(backend, LIMIT, WINDOW, 1000);
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < LIMIT; i++) {
+            assertTrue(node1.tryAcquire("login:192.0.2.1", now));
+        }
+        node1.sync(now);
+        node2.tryAcquire("login:192.0.2.1", now);
+        node2.sync(now);
+        assertFalse(node2.tryAcquire("login:192.0.2.1", now));
+
+        node1.reset("login:192.0.2.1");
+        node1.sync(now);
+        node2.sync(now);
+        assertTrue(node2.tryAcquire("login:192.0.2.1", now));
+    }
+
+    @Test
+    void windowRolloverStaysLocalAndFlushesTheTail() {
+        InMemoryRateLimitBackend memory = new InMemoryRateLimitBackend();
+        AtomicInteger backendCalls = new AtomicInteger();
+        RateLimitBackend backend = new RateLimitBackend() {
+            @Override
+            public Map<String, Long> exchange(long windowStart, Map<String, Long> deltas, Collection<String> resets,
+                                              Collection<String> keys) {
+                backendCalls.incrementAndGet();
+                return memory.exchange(windowStart, deltas, resets, keys);
+            }
+
+            @Override
+            public void purgeBefore(long windowStart) {
+                backendCalls.incrementAndGet();
+                memory.purgeBefore(windowStart);
+            }
+        };
+        ClusterRateLimiter node = new ClusterRateLimiter(backend, LIMIT, WINDOW, 1000);
+        ClusterRateLimiter observer = new ClusterRateLimiter(memory, LIMIT, WINDOW, 1000);
+        long first = System.currentTimeMillis() / WINDOW * WINDOW;
+        long second = first + WINDOW;
+
+        for (int i = 0; i < 4; i++) {
+            node.tryAcquire("login:192.0.2.7", first);
+        }
+        // 새 window의 첫 요청은 저장소를 호출하지 않음
+        assertTrue(node.tryAcquire("login:192.0.2.7", second));
+        assertEquals(0, backendCalls.get());
+
+        // 동기화 전에 넘어간 지난 window의 증분도 전역 카운터에 반영
+        node.sync(second);
+        observer.tryAcquire("login:192.0.2.7", first);
+        observer.sync(first);
+        for (int i = 0; i < LIMIT - 5; i++) {
+            assertTrue(observer.tryAcquire("login:192.0.2.7", first));
+        }
+        assertFalse(observer.tryAcquire("login:192.0.2.7", first));
+    }
+
+    // 매 라운드 각 노드가 한 번씩 시도하고 동기화 - 초과 허용은 한 라운드 동안 다른 노드가 허용한 수 이내
+    private static void assertGlobalLimit(RateLimitBackend backend) {
+        List<ClusterRateLimiter> nodes = List.of(
+                new ClusterRateLimiter(backend, LIMIT, WINDOW, 1000),
+                new ClusterRateLimiter(backend, LIMIT, WINDOW, 1000),
+                new ClusterRateLimiter(backend, LIMIT, WINDOW, 1000)
+        );
+        long now = System.currentTimeMillis();
+
+        int admitted = 0;
+        for (int round = 0; round < 20; round++) {
+            for (ClusterRateLimiter node : nodes) {
+                if (node.tryAcquire("login:203.0.113.9", now)) {
+                    admitted++;
+                }
+            }
+            for (ClusterRateLimiter node : nodes) {
+                node.sync(now);
+            }
+        }
+
+        assertTrue(admitted >= LIMIT, "admitted=" + admitted);
+        assertTrue(admitted <= LIMIT + nodes.size() - 1, "admitted=" + admitted);
+    }
+}
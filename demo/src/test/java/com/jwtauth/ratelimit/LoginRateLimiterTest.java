@@ -0,0 +1,86 @@
+package com.jwtauth.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private static final long WINDOW = TimeUnit.MINUTES.toMillis(15);
+
+    private static LoginRateLimiter create(int ipLimit, int subnetLimit, int usernameLimit, int globalLimit) {
+        RateLimiter[] limiters = {
+                limiter(ipLimit), limiter(subnetLimit), limiter(usernameLimit), limiter(globalLimit)
+        };
+        return new LoginRateLimiter(limiters, new ClusterRateLimiter[limiters.length], 24, 64);
+    }
+
+    private static RateLimiter limiter(int limit) {
+        return new RateLimiter(RateLimitPolicy.create(RateLimitPolicy.Type.SLIDING_WINDOW, limit, WINDOW), 1024);
+    }
+
+    @Test
+    void subnetLimitAppliesAcrossAddressesInTheSamePrefix() {
+        LoginRateLimiter limiter = create(5, 10, 100, 1000);
+        long now = System.nanoTime();
+
+        for (int i = 1; i <= 10; i++) {
+            assertNull(limiter.tryAcquire("192.0.2." + i, "user" + i, now, 0));
+        }
+        assertEquals(RateLimitDimension.SUBNET, limiter.tryAcquire("192.0.2.200", "other", now, 0));
+        assertNull(limiter.tryAcquire("192.0.3.1", "other", now, 0));
+
+        for (int i = 1; i <= 10; i++) {
+            assertNull(limiter.tryAcquire("2001:db8:0:1::" + Integer.toHexString(i), "v6user" + i, now, 0));
+        }
+        assertEquals(RateLimitDimension.SUBNET, limiter.tryAcquire("2001:db8:0:1:ffff::1", "other", now, 0));
+        assertEquals(2, limiter.getRejections(RateLimitDimension.SUBNET));
+    }
+
+    @Test
+    void usernameLimitAppliesAcrossSubnetsAndIgnoresCase() {
+        LoginRateLimiter limiter = create(5, 50, 3, 1000);
+        long now = System.nanoTime();
+
+        assertNull(limiter.tryAcquire("192.0.2.1", "admin", now, 0));
+        assertNull(limiter.tryAcquire("198.51.100.1", "Admin", now, 0));
+        assertNull(limiter.tryAcquire("203.0.113.1", "ADMIN", now, 0));
+        assertEquals(RateLimitDimension.USERNAME, limiter.tryAcquire("10.0.0.1", "admin", now, 0));
+        assertTrue(limiter.retryAfterNanos(RateLimitDimension.USERNAME, "10.0.0.1", "admin", now, 0) > 0);
+
+        // 성공 시 계정 카운트 초기화
+        limiter.reset("10.0.0.1", "admin");
+        assertNull(limiter.tryAcquire("10.0.0.1", "admin", now, 0));
+    }
+
+    @Test
+    void globalBudgetIsSharedAndRejectedAttemptsDoNotConsumeIt() {
+        LoginRateLimiter limiter = create(1, 50, 100, 3);
+        long now = System.nanoTime();
+
+        assertNull(limiter.tryAcquire("192.0.2.1", "a", now, 0));
+        // IP 기준에서 거부된 시도는 전체 예산을 소비하지 않음
+        assertEquals(RateLimitDimension.IP, limiter.tryAcquire("192.0.2.1", "a", now, 0));
+        assertEquals(RateLimitDimension.IP, limiter.tryAcquire("192.0.2.1", "a", now, 0));
+
+        assertNull(limiter.tryAcquire("198.51.100.1", "b", now, 0));
+        assertNull(limiter.tryAcquire("203.0.113.1", "c", now, 0));
+        assertEquals(RateLimitDimension.GLOBAL, limiter.tryAcquire("10.0.0.1", "d", now, 0));
+        assertEquals(2, limiter.getRejections(RateLimitDimension.IP));
+        assertEquals(1, limiter.getRejections(RateLimitDimension.GLOBAL));
+    }
+
+    @Test
+    void disabledDimensionsAreSkipped() {
+        RateLimiter[] limiters = {limiter(1), null, null, null};
+        LoginRateLimiter limiter = new LoginRateLimiter(limiters, new ClusterRateLimiter[limiters.length], 24, 64);
+        long now = System.nanoTime();
+
+        assertNull(limiter.tryAcquire("192.0.2.1", null, now, 0));
+        assertEquals(RateLimitDimension.IP, limiter.tryAcquire("192.0.2.1", null, now, 0));
+        assertNull(limiter.tryAcquire("192.0.2.2", "", now, 0));
+        assertEquals(0, limiter.retryAfterNanos(RateLimitDimension.GLOBAL, "192.0.2.1", null, now, 0));
+    }
+}
@@ -0,0 +1,103 @@
+package com.jwtauth.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS_PER_THREAD = 2000;
+    private static final int LIMIT = 100;
+    private static final long ONE_HOUR_MILLIS = 3600000;
+
+    @ParameterizedTest
+    @EnumSource(RateLimitPolicy.Type.class)
+    void neverAdmitsMoreThanLimitUnderContention(RateLimitPolicy.Type type) throws Exception {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.create(type, LIMIT, ONE_HOUR_MILLIS));
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // 정리 작업이 동시에 돌아도 카운트가 유실되지 않아야 함
+        Thread purger = new Thread(() -> {
+            while (running.get()) {
+                limiter.purgeIdle(System.nanoTime());
+            }
+        });
+        purger.start();
+
+        hammer(() -> {
+            if (limiter.tryAcquire("203.0.113.7")) {
+                admitted.incrementAndGet();
+            }
+        });
+
+        running.set(false);
+        purger.join();
+        assertEquals(LIMIT, admitted.get());
+        assertFalse(limiter.permits("203.0.113.7", System.nanoTime()));
+    }
+
+    @Test
+    void tokenBucketRefillsAtConfiguredRate() {
+        long origin = 1_000_000_000L;
+        TokenBucketPolicy policy = new TokenBucketPolicy(5, TimeUnit.SECONDS.toNanos(10), origin);
+
+        long state = RateLimitPolicy.EMPTY;
+        for (int i = 0; i < 5; i++) {
+            state = policy.tryAcquire(state, origin);
+            assertNotEquals(RateLimitPolicy.REJECTED, state);
+        }
+        assertEquals(RateLimitPolicy.REJECTED, policy.tryAcquire(state, origin));
+        assertEquals(TimeUnit.SECONDS.toNanos(2), policy.retryAfterNanos(state, origin));
+
+        // 2초마다 1개 보충
+        assertNotEquals(RateLimitPolicy.REJECTED, policy.tryAcquire(state, origin + TimeUnit.SECONDS.toNanos(2)));
+        assertTrue(policy.isIdle(state, origin + TimeUnit.SECONDS.toNanos(10)));
+    }
+
+    @Test
+    void slidingWindowWeighsPreviousWindow() {
+        long origin = 1_000_000_000L;
+        long window = TimeUnit.SECONDS.toNanos(10);
+        SlidingWindowPolicy policy = new SlidingWindowPolicy(4, window, origin);
+
+        long state = RateLimitPolicy.EMPTY;
+        for (int i = 0; i < 4; i++) {
+            state = policy.tryAcquire(state, origin);
+        }
+        assertFalse(policy.permits(state, origin));
+        long retryAfter = policy.retryAfterNanos(state, origin);
+        assertTrue(retryAfter > 0);
+        assertTrue(policy.permits(state, origin + retryAfter));
+        assertTrue(policy.isIdle(state, origin + 2 * window));
+    }
+
+    private static void hammer(Runnable attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    attempt.run();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+}
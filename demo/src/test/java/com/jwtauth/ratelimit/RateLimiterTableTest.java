@@ -0,0 +1,85 @@
+package com.jwtauth.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTableTest {
+
+    @Test
+    void parsesIpv4AndIpv6IntoTheSameBinaryKeys() {
+        RateLimitKey a = new RateLimitKey();
+        RateLimitKey b = new RateLimitKey();
+
+        a.set("192.0.2.1");
+        b.set("::ffff:192.0.2.1");
+        assertKeyEquals(a, b);
+        assertEquals(0xFFFFC0000201L, a.low);
+
+        a.set("2001:db8::1");
+        b.set("[2001:0db8:0:0:0:0:0:1%eth0]");
+        assertKeyEquals(a, b);
+        assertEquals(0x20010DB800000000L, a.high);
+        assertEquals(1L, a.low);
+
+        a.set("::");
+        assertEquals(0, a.high);
+        assertEquals(0, a.low);
+
+        // IP가 아닌 값은 해시로 구분
+        a.set("unknown");
+        b.set("192.0.2.256");
+        assertNotEquals(a.low, b.low);
+    }
+
+    @Test
+    void sipHashMatchesReferenceVector() {
+        // 참조 구현 테스트 벡터: 키 00..0f, 메시지 00..0f (16바이트)
+        long k0 = 0x0706050403020100L;
+        long k1 = 0x0f0e0d0c0b0a0908L;
+        assertEquals(0x3f2acc7f57c29bdbL, RateLimitKey.sipHash(k0, k1, k0, k1));
+    }
+
+    @Test
+    void memoryStaysBoundedAndEvictionsAreCounted() {
+        RateLimiter limiter = new RateLimiter(
+                RateLimitPolicy.create(RateLimitPolicy.Type.SLIDING_WINDOW, 5, TimeUnit.MINUTES.toMillis(15)), 1024);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 100000; i++) {
+            limiter.tryAcquire(0, i, now);
+        }
+
+        assertEquals(1024, limiter.getCapacity());
+        assertEquals(1024, limiter.size());
+        assertEquals(100000 - 1024, limiter.getEvictions());
+    }
+
+    @Test
+    void recentlyUsedKeysSurviveEviction() {
+        RateLimiter limiter = new RateLimiter(
+                RateLimitPolicy.create(RateLimitPolicy.Type.TOKEN_BUCKET, 3, TimeUnit.MINUTES.toMillis(15)), 8);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 7; i++) {
+            limiter.tryAcquire(0, i, now);
+        }
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("198.51.100.1", now));
+        }
+
+        // 계속 참조되는 키는 CLOCK에서 두 번째 기회를 얻어 새 키에 밀려나지 않음
+        for (int i = 7; i < 50; i++) {
+            limiter.tryAcquire(0, i, now);
+            assertFalse(limiter.tryAcquire("198.51.100.1", now));
+        }
+        assertEquals(43, limiter.getEvictions());
+    }
+
+    private static void assertKeyEquals(RateLimitKey expected, RateLimitKey actual) {
+        assertEquals(expected.high, actual.high);
+        assertEquals(expected.low, actual.low);
+    }
+}
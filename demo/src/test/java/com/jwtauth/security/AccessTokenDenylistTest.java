@@ -0,0 +1,38 @@
+package com.jwtauth.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessTokenDenylistTest {
+
+    private AccessTokenDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.getDenylist().setExpectedRevocations(1000);
+        denylist = new AccessTokenDenylist(jwtProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void rejectsOnlyRevokedTokensUntilTheirBucketExpires() {
+        long now = System.currentTimeMillis();
+        VerifiedToken revoked = VerifiedToken.of("user", "ROLE_USER", "jti-revoked", "ACCESS", now, now + 900000);
+        VerifiedToken other = VerifiedToken.of("user", "ROLE_USER", "jti-other", "ACCESS", now, now + 900000);
+        VerifiedToken expired = VerifiedToken.of("user", "ROLE_USER", "jti-expired", "ACCESS", now - 900000, now - 120000);
+
+        denylist.revoke(revoked);
+        denylist.revoke(expired);
+
+        assertTrue(denylist.isRevoked(revoked));
+        assertFalse(denylist.isRevoked(other));
+        assertFalse(denylist.isRevoked(expired));
+        assertEquals(1, denylist.size());
+
+        denylist.purgeExpired();
+        assertTrue(denylist.isRevoked(revoked));
+    }
+}
@@ -0,0 +1,44 @@
+package com.jwtauth.security;
+
+import com.jwtauth.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FailedCredentialCacheTest {
+
+    private static FailedCredentialCache create(long ttl) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.getFailureCache().setTtl(ttl);
+        return new FailedCredentialCache(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void matchesOnlyTheSameUsernamePasswordAndStoredHash() {
+        FailedCredentialCache cache = create(60000);
+        cache.recordFailure("user", "guess1", "{bcrypt}hash-1");
+
+        assertTrue(cache.isRecentFailure("user", "guess1", "{bcrypt}hash-1"));
+        assertFalse(cache.isRecentFailure("user", "guess2", "{bcrypt}hash-1"));
+        assertFalse(cache.isRecentFailure("admin", "guess1", "{bcrypt}hash-1"));
+        // 비밀번호가 바뀌어 저장된 해시가 달라지면 더 이상 일치하지 않음
+        assertFalse(cache.isRecentFailure("user", "guess1", "{bcrypt}hash-2"));
+    }
+
+    @Test
+    void entriesExpireAndAreClearedOnPasswordChange() throws InterruptedException {
+        FailedCredentialCache cache = create(60000);
+        cache.recordFailure("user", "guess", "{bcrypt}hash");
+        cache.recordFailure("other", "guess", "{bcrypt}hash");
+
+        cache.invalidate("user");
+        assertFalse(cache.isRecentFailure("user", "guess", "{bcrypt}hash"));
+        assertTrue(cache.isRecentFailure("other", "guess", "{bcrypt}hash"));
+
+        FailedCredentialCache shortLived = create(1);
+        shortLived.recordFailure("user", "guess", "{bcrypt}hash");
+        Thread.sleep(5);
+        assertFalse(shortLived.isRecentFailure("user", "guess", "{bcrypt}hash"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.jwtauth.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastPathTokenMinterTest {
+
+    private static final String SECRET = "mySecretKeyForTestingPurposesOnlyThisIsAVeryLongSecretKey";
+
+    private SecretKey secretKey;
+    private FastPathTokenMinter minter;
+
+    @BeforeEach
+    void setUp() {
+        secretKey = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), SignatureAlgorithm.HS512.getJcaName());
+        minter = new FastPathTokenMinter(secretKey, "jwt-auth-service");
+    }
+
+    @Test
+    void mintedTokenIsAcceptedByJjwtAndFastPath() {
+        long now = System.currentTimeMillis();
+        String token = minter.mint("user\"\\\n사용자", "ROLE_USER", JwtTokenUtil.TokenType.ACCESS, now, 60000);
+
+        Claims claims = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+        assertEquals("user\"\\\n사용자", claims.getSubject());
+        assertEquals("ROLE_USER", claims.get("role", String.class));
+        assertEquals("ACCESS", claims.get("tokenType", String.class));
+        assertEquals("jwt-auth-service", claims.getIssuer());
+        assertEquals(now / 1000 * 1000, claims.getIssuedAt().getTime());
+        assertEquals((now + 60000) / 1000 * 1000, claims.getExpiration().getTime());
+        assertEquals(4, UUID.fromString(claims.getId()).version());
+
+        String plain = minter.mint("user", null, JwtTokenUtil.TokenType.REFRESH, now, 60000);
+        VerifiedToken verifiedToken = new FastPathTokenVerifier(secretKey).verify(plain, now);
+        assertNotNull(verifiedToken);
+        assertTrue(verifiedToken.isRefreshToken());
+        assertNull(verifiedToken.getRole());
+    }
+}
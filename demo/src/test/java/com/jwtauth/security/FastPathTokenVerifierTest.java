@@ -0,0 +1,70 @@
+package com.jwtauth.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastPathTokenVerifierTest {
+
+    private static final String SECRET = "mySecretKeyForTestingPurposesOnlyThisIsAVeryLongSecretKey";
+
+    private SecretKey secretKey;
+    private FastPathTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        secretKey = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), SignatureAlgorithm.HS512.getJcaName());
+        verifier = new FastPathTokenVerifier(secretKey);
+    }
+
+    @Test
+    void verifiesOwnAccessTokenWithSameClaimsAsJjwt() {
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .setId("jti-1")
+                .setSubject("사용자")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60000))
+                .setIssuer("jwt-auth-service")
+                .claim("tokenType", "ACCESS")
+                .signWith(secretKey)
+                .claim("role", "ROLE_USER")
+                .compact();
+
+        VerifiedToken verifiedToken = verifier.verify(token, now);
+
+        assertNotNull(verifiedToken);
+        assertEquals("사용자", verifiedToken.getSubject());
+        assertEquals("ROLE_USER", verifiedToken.getRole());
+        assertEquals("jti-1", verifiedToken.getJwtId());
+        assertTrue(verifiedToken.isAccessToken());
+        assertEquals(now / 1000 * 1000, verifiedToken.getIssuedAtMillis());
+        assertEquals((now + 60000) / 1000 * 1000, verifiedToken.getExpirationMillis());
+    }
+
+    @Test
+    void delegatesForgedExpiredAndUnknownClaimTokens() {
+        long now = System.currentTimeMillis();
+        String valid = Jwts.builder().setSubject("user").setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60000)).claim("tokenType", "ACCESS").signWith(secretKey).compact();
+        String forged = valid.substring(0, valid.lastIndexOf('.') + 1) + "AAAA" + valid.substring(valid.lastIndexOf('.') + 5);
+        String expired = Jwts.builder().setSubject("user").setIssuedAt(new Date(now - 120000))
+                .setExpiration(new Date(now - 60000)).claim("tokenType", "ACCESS").signWith(secretKey).compact();
+        String unknownClaim = Jwts.builder().setSubject("user").setIssuedAt(new Date(now)).setAudience("other")
+                .setExpiration(new Date(now + 60000)).claim("tokenType", "ACCESS").signWith(secretKey).compact();
+
+        assertNotNull(verifier.verify(valid, now));
+        assertNull(verifier.verify(forged, now));
+        assertNull(verifier.verify(expired, now));
+        assertNull(verifier.verify(unknownClaim, now));
+        assertNull(verifier.verify("not.a.token", now));
+    }
+}
@@ -0,0 +1,103 @@
+package com.jwtauth.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Signature;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 같은 저장소를 쓰는 두 인스턴스(키 링)가 같은 키로 서명/검증하고 같은 JWKS를 게시하는지 확인
+class JwtKeyRingTest {
+
+    private static final long INTERVAL = 3_600_000;
+    private static final long NOW = 1_700_000_000_000L;
+
+    private EmbeddedDatabase database;
+    private JwtProperties jwtProperties;
+    private JwtSigningKeyStore keyStore;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE jwt_signing_keys (kid VARCHAR(32) PRIMARY KEY, activates_at BIGINT NOT NULL UNIQUE, "
+                + "public_key VARBINARY(512) NOT NULL, private_key VARBINARY(512) NOT NULL)");
+
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("key-ring-test-secret");
+        jwtProperties.setExpirationTime(900000);
+        jwtProperties.setAccessTokenSigning(JwtProperties.SigningMode.ES256);
+        jwtProperties.getKeyRotation().setInterval(INTERVAL);
+        keyStore = new JwtSigningKeyStore(jdbcTemplate, jwtProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void instancesShareKeysAndSchedule() throws Exception {
+        JwtKeyRing first = new JwtKeyRing(jwtProperties, keyStore);
+        JwtKeyRing second = new JwtKeyRing(jwtProperties, keyStore);
+        first.refresh(NOW);
+        second.refresh(NOW);
+
+        JwtKeyRing.SigningKey active = first.getActiveKey(NOW);
+        assertEquals(active.getKid(), second.getActiveKey(NOW).getKid());
+        assertEquals(first.getJwkSet().getEtag(), second.getJwkSet().getEtag());
+        assertEquals(2, second.getJwkSet().getKeys().size());
+
+        // 한 인스턴스가 서명한 토큰을 다른 인스턴스의 공개 키로 검증
+        byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        Signature signer = Signature.getInstance("SHA256withECDSA");
+        signer.initSign(active.getPrivateKey());
+        signer.update(payload);
+        byte[] signature = signer.sign();
+
+        Signature verifier = Signature.getInstance("SHA256withECDSA");
+        verifier.initVerify(second.getVerificationKey(active.getKid()));
+        verifier.update(payload);
+        assertTrue(verifier.verify(signature));
+
+        // 재시작한 인스턴스도 같은 키를 사용
+        JwtKeyRing restarted = new JwtKeyRing(jwtProperties, keyStore);
+        restarted.refresh(NOW + 1000);
+        assertEquals(active.getKid(), restarted.getActiveKey(NOW + 1000).getKid());
+    }
+
+    @Test
+    void rotatesOnScheduleAndPurgesRetiredKeys() {
+        JwtKeyRing first = new JwtKeyRing(jwtProperties, keyStore);
+        JwtKeyRing second = new JwtKeyRing(jwtProperties, keyStore);
+        first.refresh(NOW);
+        second.refresh(NOW);
+        String initialKid = first.getActiveKey(NOW).getKid();
+
+        // 다음 주기 시작 시각이 지나면 동기화 전에도 예약된 다음 키로 서명
+        long nextPeriod = NOW - NOW % INTERVAL + INTERVAL;
+        String nextKid = second.getActiveKey(nextPeriod).getKid();
+        assertNotEquals(initialKid, nextKid);
+        assertEquals(nextKid, first.getActiveKey(nextPeriod).getKid());
+
+        // 폐기된 키는 Access Token 수명 동안 검증용으로 유지
+        first.refresh(nextPeriod + 1000);
+        assertNotNull(first.getVerificationKey(initialKid));
+        assertEquals(3, keyStore.loadAll().size());
+
+        second.refresh(nextPeriod + jwtProperties.getExpirationTime() + 1000);
+        assertNull(second.getVerificationKey(initialKid));
+        assertEquals(nextKid, second.getActiveKey(nextPeriod + jwtProperties.getExpirationTime() + 1000).getKid());
+        assertEquals(2, keyStore.loadAll().size());
+    }
+}
@@ -0,0 +1,101 @@
+package com.jwtauth.security;
+
+import com.jwtauth.config.RateLimitProperties;
+import com.jwtauth.config.RateLimitingService;
+import com.jwtauth.ratelimit.RateLimitBackend;
+import com.jwtauth.ratelimit.RateLimitPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestThrottleFilterTest {
+
+    private RequestThrottleFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.getThrottle().setRoutes(List.of(
+                new RateLimitProperties.Route("/api/auth/**", RateLimitPolicy.Type.TOKEN_BUCKET, 2, 60000),
+                new RateLimitProperties.Route("/api/users/{id}/sessions", RateLimitPolicy.Type.SLIDING_WINDOW, 1, 60000)
+        ));
+        rateLimitProperties.setTrustedProxies(List.of("10.0.0.0/8"));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimitingService rateLimitingService = new RateLimitingService(rateLimitProperties, meterRegistry,
+                new StaticListableBeanFactory().getBeanProvider(RateLimitBackend.class));
+        filter = new RequestThrottleFilter(rateLimitProperties, rateLimitingService, meterRegistry);
+    }
+
+    private MockHttpServletResponse perform(String path, String ip, MockFilterChain chain) throws Exception {
+        return perform(path, ip, null, chain);
+    }
+
+    private MockHttpServletResponse perform(String path, String ip, String forwardedFor, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(ip);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    void rejectsOverLimitRequestsBeforeTheChainWith429AndRetryAfter() throws Exception {
+        assertNotNull(chainRequest(perform("/api/auth/login", "192.0.2.1", new MockFilterChain())));
+        assertNotNull(chainRequest(perform("/api/auth/refresh", "192.0.2.1", new MockFilterChain())));
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse rejected = perform("/api/auth/login", "192.0.2.1", chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(429, rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) >= 1);
+        assertTrue(rejected.getContentAsString().contains("\"TOO_MANY_REQUESTS\""));
+
+        // 다른 IP와 제한 대상이 아닌 경로는 영향 없음
+        assertEquals(200, perform("/api/auth/login", "192.0.2.2", new MockFilterChain()).getStatus());
+        assertEquals(200, perform("/api/authx", "192.0.2.1", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void matchesTemplatedPatterns() throws Exception {
+        assertEquals(200, perform("/api/users/1/sessions", "192.0.2.1", new MockFilterChain()).getStatus());
+        assertEquals(429, perform("/api/users/2/sessions", "192.0.2.1", new MockFilterChain()).getStatus());
+        assertEquals(200, perform("/api/users/2/profile", "192.0.2.1", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void matchesDecodedAndNormalizedPaths() throws Exception {
+        assertEquals(200, perform("/api/%61uth/login", "192.0.2.1", new MockFilterChain()).getStatus());
+        assertEquals(200, perform("/api/users/../auth/login", "192.0.2.1", new MockFilterChain()).getStatus());
+        assertEquals(429, perform("/api//auth;x=1/login", "192.0.2.1", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void honoursForwardedForOnlyFromTrustedProxies() throws Exception {
+        // 신뢰하지 않는 클라이언트가 보낸 X-Forwarded-For는 무시하고 연결 주소로 제한
+        assertEquals(200, perform("/api/auth/login", "192.0.2.1", "198.51.100.1", new MockFilterChain()).getStatus());
+        assertEquals(200, perform("/api/auth/login", "192.0.2.1", "198.51.100.2", new MockFilterChain()).getStatus());
+        assertEquals(429, perform("/api/auth/login", "192.0.2.1", "198.51.100.3", new MockFilterChain()).getStatus());
+
+        // 신뢰하는 프록시 뒤에서는 오른쪽부터 프록시가 아닌 첫 주소가 클라이언트 (왼쪽의 위조 값은 무시)
+        assertEquals(200, perform("/api/auth/login", "10.0.0.5", "1.2.3.4, 198.51.100.7, 10.0.0.9", new MockFilterChain()).getStatus());
+        assertEquals(200, perform("/api/auth/login", "10.0.0.6", "5.6.7.8, 198.51.100.7", new MockFilterChain()).getStatus());
+        assertEquals(429, perform("/api/auth/login", "10.0.0.5", "198.51.100.7", new MockFilterChain()).getStatus());
+        assertEquals(200, perform("/api/auth/login", "10.0.0.5", "198.51.100.8", new MockFilterChain()).getStatus());
+    }
+
+    private static Object chainRequest(MockHttpServletResponse response) {
+        return response.getStatus() == 200 ? response : null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.jwtauth.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityEpochServiceTest {
+
+    private static final long SECOND = 1_700_000_000_000L;
+
+    private SecurityEpochService securityEpochService;
+    private JwtTokenUtil jwtTokenUtil;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("security-epoch-test-secret-security-epoch-test-secret-security-epoch-test");
+        jwtProperties.setExpirationTime(900000);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtProperties, new SimpleMeterRegistry());
+        securityEpochService = new SecurityEpochService(jwtProperties, cache);
+        jwtTokenUtil = new JwtTokenUtil(jwtProperties, cache, new JwtKeyRing(jwtProperties, null), securityEpochService);
+    }
+
+    @Test
+    void rejectsTokensIssuedInTheSameSecondAsRevocation() {
+        // iat는 초 단위 - 같은 초 안에서 발급 후 무효화
+        VerifiedToken sameSecond = token("user", SECOND);
+        VerifiedToken nextSecond = token("user", SECOND + 1000);
+        VerifiedToken otherUser = token("other", SECOND);
+
+        securityEpochService.revokeIssuedTokens("user", SECOND + 999);
+
+        assertFalse(securityEpochService.isCurrent(sameSecond));
+        assertTrue(securityEpochService.isCurrent(nextSecond));
+        assertTrue(securityEpochService.isCurrent(otherUser));
+    }
+
+    @Test
+    void keepsTheLatestEpoch() {
+        securityEpochService.revokeIssuedTokens("user", SECOND + 5000);
+        securityEpochService.revokeIssuedTokens("user", SECOND);
+
+        assertFalse(securityEpochService.isCurrent(token("user", SECOND + 5000)));
+        assertTrue(securityEpochService.isCurrent(token("user", SECOND + 6000)));
+    }
+
+    @Test
+    void acceptsTokensIssuedAfterRevocationInTheSameSecond() {
+        // 무효화 직후 같은 초에 다시 로그인한 경우 - 새 토큰의 iat는 에포크로 올라감
+        securityEpochService.revokeIssuedTokens("user", SECOND + 200);
+        long issuedAt = securityEpochService.issuedAtMillis("user", SECOND + 300);
+
+        assertEquals(SECOND + 1000, issuedAt);
+        assertTrue(securityEpochService.isCurrent(token("user", issuedAt)));
+        assertEquals(SECOND + 300, securityEpochService.issuedAtMillis("other", SECOND + 300));
+
+        // 실제 발급 경로: 무효화 직후 발급한 토큰이 검증과 에포크 확인을 모두 통과
+        securityEpochService.revokeIssuedTokens("user");
+        VerifiedToken minted = jwtTokenUtil.verify(jwtTokenUtil.generateAccessToken("user", "ROLE_USER")).orElseThrow();
+        assertTrue(securityEpochService.isCurrent(minted));
+    }
+
+    private static VerifiedToken token(String username, long issuedAtMillis) {
+        return VerifiedToken.of(username, "ROLE_USER", "jti-" + issuedAtMillis, "ACCESS",
+                issuedAtMillis, issuedAtMillis + 900000);
+    }
+}
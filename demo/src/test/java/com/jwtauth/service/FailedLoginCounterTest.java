@@ -0,0 +1,97 @@
+package com.jwtauth.service;
+
+import com.jwtauth.config.LoginAttemptProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FailedLoginCounterTest {
+
+    private static final long MINUTE = 60000;
+    private static final long NOW = 1_700_000_000_000L;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE login_attempts (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50), "
+                + "ip_address VARCHAR(45) NOT NULL, user_agent VARCHAR(500), success BOOLEAN NOT NULL, "
+                + "failure_reason VARCHAR(200), attempt_time TIMESTAMP NOT NULL, session_id VARCHAR(100))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private FailedLoginCounter create(int maxTrackedIps) {
+        LoginAttemptProperties properties = new LoginAttemptProperties();
+        properties.setMaxTrackedIps(maxTrackedIps);
+        return new FailedLoginCounter(jdbcTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    private void insert(String ip, boolean success, long attemptMillis) {
+        jdbcTemplate.update("INSERT INTO login_attempts (ip_address, success, attempt_time) VALUES (?, ?, ?)",
+                ip, success, new Timestamp(attemptMillis));
+    }
+
+    @Test
+    void failuresExpireAfterSixtyMinutes() {
+        FailedLoginCounter counter = create(100);
+        counter.add("10.0.0.1", NOW, NOW);
+        counter.add("10.0.0.1", NOW + 30 * MINUTE, NOW + 30 * MINUTE);
+        counter.add("10.0.0.2", NOW, NOW);
+
+        assertEquals(2, counter.countRecentFailures("10.0.0.1", NOW + 59 * MINUTE));
+        assertEquals(1, counter.countRecentFailures("10.0.0.1", NOW + 60 * MINUTE));
+        assertEquals(0, counter.countRecentFailures("10.0.0.1", NOW + 5 * 60 * MINUTE));
+        assertEquals(0, counter.countRecentFailures("10.0.0.9", NOW));
+
+        assertEquals(2, counter.purgeIdle(NOW + 2 * 60 * MINUTE));
+        assertEquals(0, counter.trackedIps());
+    }
+
+    @Test
+    void seedsFromRecentFailuresOnly() {
+        insert("10.0.0.1", false, NOW - 10 * MINUTE);
+        insert("10.0.0.1", false, NOW - 59 * MINUTE);
+        insert("10.0.0.1", false, NOW - 2 * 60 * MINUTE);
+        insert("10.0.0.1", true, NOW - MINUTE);
+        insert("10.0.0.2", false, NOW);
+
+        FailedLoginCounter counter = create(100);
+        counter.seed(NOW);
+
+        assertEquals(2, counter.countRecentFailures("10.0.0.1", NOW));
+        assertEquals(1, counter.countRecentFailures("10.0.0.2", NOW));
+        assertEquals(1, counter.countRecentFailures("10.0.0.1", NOW + 49 * MINUTE));
+    }
+
+    @Test
+    void stopsTrackingNewIpsAtCapacity() {
+        FailedLoginCounter counter = create(2);
+        counter.add("10.0.0.1", NOW, NOW);
+        counter.add("10.0.0.2", NOW, NOW);
+        counter.add("10.0.0.3", NOW, NOW);
+        counter.add("10.0.0.1", NOW, NOW);
+
+        assertEquals(2, counter.trackedIps());
+        assertEquals(2, counter.countRecentFailures("10.0.0.1", NOW));
+        assertEquals(0, counter.countRecentFailures("10.0.0.3", NOW));
+    }
+}
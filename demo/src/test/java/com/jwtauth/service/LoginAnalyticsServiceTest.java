@@ -0,0 +1,70 @@
+package com.jwtauth.service;
+
+import com.jwtauth.config.LoginAnalyticsProperties;
+import com.jwtauth.dto.response.HeavyHitterResponse;
+import com.jwtauth.dto.response.LoginAnalyticsResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAnalyticsServiceTest {
+
+    private static final long SLICE = 60000;
+    private static final long START = 1_700_000_000_000L / SLICE * SLICE;
+
+    private LoginAnalyticsService create() {
+        LoginAnalyticsProperties properties = new LoginAnalyticsProperties();
+        properties.setSliceDuration(SLICE);
+        properties.setSlices(3);
+        properties.setCapacity(10);
+        properties.setCredentialStuffingThreshold(20);
+        return new LoginAnalyticsService(properties);
+    }
+
+    @Test
+    void flagsCredentialStuffingAndRanksTargets() {
+        LoginAnalyticsService service = create();
+        for (int i = 0; i < 40; i++) {
+            service.recordFailure("victim-" + i, "10.0.0.1", START + i);
+        }
+        for (int i = 0; i < 5; i++) {
+            service.recordFailure("admin", "10.0.0.2", START + SLICE + i);
+        }
+
+        LoginAnalyticsResponse response = service.getTopFailures(2, START + SLICE + 10);
+        assertEquals(45, response.getFailureCount());
+
+        HeavyHitterResponse stuffing = response.getTopFailedIps().get(0);
+        assertEquals("10.0.0.1", stuffing.getValue());
+        assertEquals(40, stuffing.getEstimatedFailures());
+        assertEquals(40, stuffing.getDistinctUsernames(), 2);
+        assertTrue(stuffing.getCredentialStuffing());
+
+        HeavyHitterResponse bruteForce = response.getTopFailedIps().get(1);
+        assertEquals("10.0.0.2", bruteForce.getValue());
+        assertEquals(1, bruteForce.getDistinctUsernames());
+        assertFalse(bruteForce.getCredentialStuffing());
+
+        assertEquals("admin", response.getTopTargetedUsernames().get(0).getValue());
+        assertEquals(5, response.getTopTargetedUsernames().get(0).getGuaranteedFailures());
+    }
+
+    @Test
+    void dropsSlicesOutsideRollingWindow() {
+        LoginAnalyticsService service = create();
+        service.recordFailure("alice", "10.0.0.1", START);
+        service.recordFailure("bob", "10.0.0.2", START + 2 * SLICE);
+
+        assertEquals(2, service.getTopFailures(5, START + 2 * SLICE).getFailureCount());
+
+        LoginAnalyticsResponse later = service.getTopFailures(5, START + 3 * SLICE);
+        assertEquals(1, later.getFailureCount());
+        assertEquals("10.0.0.2", later.getTopFailedIps().get(0).getValue());
+
+        // 재사용된 구간은 이전 내용을 비움
+        service.recordFailure("carol", "10.0.0.3", START + 3 * SLICE);
+        assertEquals(2, service.getTopFailures(5, START + 3 * SLICE).getTopFailedIps().size());
+
+        assertThrows(IllegalArgumentException.class, () -> service.getTopFailures(11, START));
+    }
+}
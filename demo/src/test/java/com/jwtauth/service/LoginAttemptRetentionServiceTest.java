@@ -0,0 +1,124 @@
+package com.jwtauth.service;
+
+import com.jwtauth.config.LoginAttemptProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptRetentionServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 10, 12, 30);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private LoginAttemptProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE login_attempts (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50), "
+                + "ip_address VARCHAR(45) NOT NULL, user_agent VARCHAR(500), success BOOLEAN NOT NULL, "
+                + "failure_reason VARCHAR(200), attempt_time TIMESTAMP NOT NULL, session_id VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE login_attempt_rollups (bucket_start TIMESTAMP NOT NULL, "
+                + "dimension VARCHAR(10) NOT NULL, dimension_value VARCHAR(50) NOT NULL, success_count BIGINT NOT NULL, "
+                + "failure_count BIGINT NOT NULL, PRIMARY KEY (bucket_start, dimension, dimension_value))");
+
+        properties = new LoginAttemptProperties();
+        properties.getRetention().setRawRetentionDays(1);
+        properties.getRetention().setDeleteBatchSize(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private LoginAttemptRetentionService create() {
+        return new LoginAttemptRetentionService(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(database)),
+                new LoginAttemptPartitionManager(jdbcTemplate), properties, new SimpleMeterRegistry());
+    }
+
+    private void insert(String username, String ip, boolean success, LocalDateTime attemptTime) {
+        jdbcTemplate.update("INSERT INTO login_attempts (username, ip_address, success, attempt_time) VALUES (?, ?, ?, ?)",
+                username, ip, success, Timestamp.valueOf(attemptTime));
+    }
+
+    private Map<String, Object> rollup(LocalDateTime bucket, String dimension, String value) {
+        return jdbcTemplate.queryForMap("SELECT success_count, failure_count FROM login_attempt_rollups "
+                + "WHERE bucket_start = ? AND dimension = ? AND dimension_value = ?", Timestamp.valueOf(bucket), dimension, value);
+    }
+
+    @Test
+    void rollsUpCompletedHoursOnce() {
+        LocalDateTime hour = NOW.minusHours(3).withMinute(0);
+        insert("alice", "10.0.0.1", true, hour.plusMinutes(1));
+        insert("alice", "10.0.0.1", false, hour.plusMinutes(2));
+        insert(null, "10.0.0.2", false, hour.plusMinutes(59));
+        insert("alice", "10.0.0.1", false, NOW.minusMinutes(5)); // 아직 진행 중인 시간
+
+        LoginAttemptRetentionService service = create();
+        assertEquals(3, service.rollupCompletedHours(NOW));
+        assertEquals(NOW.withMinute(0), service.getRolledUpUntil());
+        assertEquals(0, service.rollupCompletedHours(NOW));
+
+        Map<String, Object> ip = rollup(hour, "IP", "10.0.0.1");
+        assertEquals(1L, ((Number) ip.get("SUCCESS_COUNT")).longValue());
+        assertEquals(1L, ((Number) ip.get("FAILURE_COUNT")).longValue());
+        assertEquals(1L, ((Number) rollup(hour, "IP", "10.0.0.2").get("FAILURE_COUNT")).longValue());
+        assertEquals(2L, ((Number) rollup(hour, "USERNAME", "alice").get("SUCCESS_COUNT")).longValue()
+                + ((Number) rollup(hour, "USERNAME", "alice").get("FAILURE_COUNT")).longValue());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM login_attempt_rollups", Integer.class));
+
+        // 재시작 후에는 마지막 집계 이후의 빈 구간만 다시 확인하고, 이미 집계된 구간은 다시 쓰지 않음
+        LoginAttemptRetentionService restarted = create();
+        restarted.afterSingletonsInstantiated();
+        assertEquals(2, restarted.rollupCompletedHours(NOW));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM login_attempt_rollups", Integer.class));
+    }
+
+    @Test
+    void deletesOnlyExpiredRowsThatWereRolledUp() {
+        for (int i = 0; i < 7; i++) {
+            insert("alice", "10.0.0.1", false, NOW.minusDays(3).plusMinutes(i));
+        }
+        insert("alice", "10.0.0.1", false, NOW.minusHours(2));
+
+        LoginAttemptRetentionService service = create();
+        // 집계 전에는 삭제하지 않음
+        assertEquals(0, service.purgeExpired(NOW));
+
+        properties.getRetention().setMaxRollupHours(1000);
+        service.run(NOW);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM login_attempts", Integer.class));
+        assertEquals(7L, ((Number) rollup(NOW.minusDays(3).withMinute(0), "IP", "10.0.0.1").get("FAILURE_COUNT"))
+                .longValue());
+    }
+
+    @Test
+    void partitionBoundsMatchMysqlToDays() {
+        assertEquals(733321, LoginAttemptPartitionManager.toDays(LocalDate.of(2007, 10, 7)));
+        assertEquals(LocalDate.of(2024, 3, 10), LoginAttemptPartitionManager.fromDays(
+                LoginAttemptPartitionManager.toDays(LocalDate.of(2024, 3, 10))));
+        assertEquals("PARTITION p20240310 VALUES LESS THAN (739321)",
+                LoginAttemptPartitionManager.definition(LocalDate.of(2024, 3, 10)));
+    }
+}
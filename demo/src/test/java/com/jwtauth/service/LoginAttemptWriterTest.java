@@ -0,0 +1,84 @@
+package com.jwtauth.service;
+
+import com.jwtauth.config.LoginAttemptProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptWriterTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE login_attempts (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50), "
+                + "ip_address VARCHAR(45) NOT NULL, user_agent VARCHAR(500), success BOOLEAN NOT NULL, "
+                + "failure_reason VARCHAR(200), attempt_time TIMESTAMP NOT NULL, session_id VARCHAR(100))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private LoginAttemptWriter create(int capacity, long flushInterval) {
+        LoginAttemptProperties properties = new LoginAttemptProperties();
+        properties.setCapacity(capacity);
+        properties.setBatchSize(100);
+        properties.setFlushInterval(flushInterval);
+        return new LoginAttemptWriter(jdbcTemplate, properties, meterRegistry);
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM login_attempts", Long.class);
+    }
+
+    @Test
+    void flushesWithinIntervalAndTruncatesOversizedValues() throws Exception {
+        LoginAttemptWriter writer = create(1000, 50);
+
+        assertTrue(writer.enqueue("user", "192.0.2.1", "agent", true, null));
+        assertTrue(writer.enqueue("x".repeat(80), "192.0.2.1", "a".repeat(600), false, "Invalid password"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (count() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, count());
+        assertEquals(50, jdbcTemplate.queryForObject(
+                "SELECT LENGTH(username) FROM login_attempts WHERE success = FALSE", Integer.class));
+        writer.shutdown();
+    }
+
+    @Test
+    void dropsOnOverflowAndFlushesEverythingAcceptedOnShutdown() throws Exception {
+        LoginAttemptWriter writer = create(10, 60000);
+
+        int accepted = 0;
+        for (int i = 0; i < 5000; i++) {
+            if (writer.enqueue("user" + i, "192.0.2.1", null, false, "Invalid password")) {
+                accepted++;
+            }
+        }
+        writer.shutdown();
+
+        assertEquals(accepted, count());
+        assertEquals(5000 - accepted,
+                meterRegistry.get("login.attempt.dropped").tag("reason", "overflow").counter().count());
+        assertEquals(accepted, meterRegistry.get("login.attempt.written").counter().count());
+    }
+}
@@ -0,0 +1,98 @@
+package com.jwtauth.service;
+
+import com.jwtauth.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService service;
+
+    // release 전까지 해시 스레드를 붙잡는 인코더
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("encoded:" + rawPassword);
+        }
+    };
+
+    private void await() {
+        started.countDown();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PasswordHashingService create(int queueCapacity, long maxQueueWait) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setMaxQueueWait(maxQueueWait);
+        return new PasswordHashingService(blockingEncoder, properties, Runnable::run, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        service = create(1, 5000);
+
+        CompletableFuture<Boolean> running = service.matches("a", "encoded:a");
+        waitUntilStarted();
+        CompletableFuture<String> queued = service.encode("b");
+
+        assertThrows(TaskRejectedException.class, () -> service.encode("c"));
+        assertEquals(1.0, meterRegistry.get("password.hash.queue.depth").gauge().value());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertEquals("encoded:b", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("password.hash.rejected").tag("reason", "queue_full").counter().count());
+    }
+
+    @Test
+    void dropsWorkThatWaitedTooLongInQueue() throws Exception {
+        service = create(4, 10);
+
+        service.matches("a", "encoded:a");
+        waitUntilStarted();
+        CompletableFuture<String> stale = service.encode("b");
+        Thread.sleep(50);
+        release.countDown();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> stale.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TaskRejectedException.class, failure.getCause());
+    }
+
+    // 첫 작업이 대기열에서 꺼내져 실행 중일 때까지 대기
+    // (getActiveCount는 첫 작업을 꺼내기 전의 미리 시작된 스레드도 활성으로 셀 수 있음)
+    private void waitUntilStarted() throws InterruptedException {
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+}